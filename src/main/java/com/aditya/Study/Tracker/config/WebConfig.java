@@ -1,7 +1,9 @@
 package com.aditya.Study.Tracker.config;
 
+import com.aditya.Study.Tracker.web.ReplicaWriteInterceptor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 /**
@@ -12,6 +14,12 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    private final ReplicaWriteInterceptor replicaWriteInterceptor;
+
+    public WebConfig(ReplicaWriteInterceptor replicaWriteInterceptor) {
+        this.replicaWriteInterceptor = replicaWriteInterceptor;
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         // Allows all endpoints under /api/v1 to accept requests from any origin (*).
@@ -21,4 +29,10 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedMethods("GET", "POST") // Allows only necessary methods
                 .allowedHeaders("*"); // Allows all headers
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // On read replicas: reject writes and report replication lag
+        registry.addInterceptor(replicaWriteInterceptor).addPathPatterns("/api/v1/**");
+    }
 }
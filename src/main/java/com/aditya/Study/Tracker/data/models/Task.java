@@ -2,12 +2,14 @@
 package com.aditya.Study.Tracker.data.models;
 
 import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Represents a study task. Implements Comparable for PriorityQueue (Max-Heap) behavior.
  */
 public class Task implements Comparable<Task> {
-    private static int nextId = 1;
+    // Atomic so ids stay unique even if tasks are created outside the service lock
+    private static final AtomicInteger nextId = new AtomicInteger(1);
     private final int taskId;
     private final String title;
     private final String subject;
@@ -16,7 +18,14 @@ public class Task implements Comparable<Task> {
     private final boolean isReview;
 
     public Task(String title, String subject, int priorityScore, LocalDate deadline, boolean isReview) {
-        this.taskId = nextId++;
+        this(nextId.getAndIncrement(), title, subject, priorityScore, deadline, isReview);
+    }
+
+    // Constructor with a known id (used when replaying a replicated task)
+    public Task(int taskId, String title, String subject, int priorityScore, LocalDate deadline, boolean isReview) {
+        // keep locally generated ids from colliding with replayed ones
+        nextId.accumulateAndGet(taskId + 1, Math::max);
+        this.taskId = taskId;
         this.title = title;
         this.subject = subject;
         this.priorityScore = priorityScore;
@@ -5,144 +5,396 @@ import com.aditya.Study.Tracker.data.models.Task;
 import com.aditya.Study.Tracker.data.models.TimeInterval;
 import com.aditya.Study.Tracker.service.data_structures.Action;
 import com.aditya.Study.Tracker.service.data_structures.IntervalTree;
+import com.aditya.Study.Tracker.service.data_structures.InvertedIndex;
+import com.aditya.Study.Tracker.service.data_structures.ReadyTaskIndex;
 import com.aditya.Study.Tracker.service.data_structures.SubjectGraph;
+import com.aditya.Study.Tracker.service.data_structures.TextIndex;
+import com.aditya.Study.Tracker.service.data_structures.TieredLogStore;
 import com.aditya.Study.Tracker.service.data_structures.UndoRedoManager;
+import com.aditya.Study.Tracker.service.monitoring.ComputationEvent;
+import com.aditya.Study.Tracker.service.monitoring.ServiceOperationEvent;
+import com.aditya.Study.Tracker.service.planning.PlanCandidate;
+import com.aditya.Study.Tracker.service.planning.PlanEvaluation;
+import com.aditya.Study.Tracker.service.planning.PlanSnapshot;
+import com.aditya.Study.Tracker.service.planning.WeeklyPlanBuilder;
+import com.aditya.Study.Tracker.service.planning.WhatIfPlanner;
+import com.aditya.Study.Tracker.service.replication.Mutation;
+import com.aditya.Study.Tracker.service.replication.MutationBatch;
+import com.aditya.Study.Tracker.service.replication.MutationLog;
+import com.aditya.Study.Tracker.service.replication.StateSnapshot;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 /**
  * Manages the core data structures and business logic of the study tracker.
  * This class simulates persistent storage in memory.
+ *
+ * Every public operation runs through {@link #op}: it locks on `this` and emits a
+ * {@link ServiceOperationEvent} (Java Flight Recorder) with its lock wait time, input
+ * sizes and result size, also when the operation fails.
+ *
+ * Every write is also appended to an ordered {@link MutationLog} with all of its
+ * inputs resolved (ids, dates), so read replicas can replay it via {@link #applyReplicated}.
+ * A replica starts from {@link #exportSnapshot()} (installed with {@link #installSnapshot}),
+ * which is why the data structures below are replaced as a whole rather than final.
  */
 @Service
 public class StudyTrackerService {
 
+    // Log store settings, kept to rebuild the store when a snapshot is installed
+    private final Path logSegmentDir;
+    private final int hotLogCapacity;
+    private final int logSegmentSize;
+    private final int mutationLogRetention;
+
     // DS 1: For future tasks (Max-Heap based on Task priorityScore)
-    private final PriorityQueue<Task> taskQueue = new PriorityQueue<>();
+    private PriorityQueue<Task> taskQueue;
 
-    // DS 2: For finished logs (ArrayList)
-    private final List<StudyLog> studyLogs = new ArrayList<>();
+    // DS 2: For finished logs (recent logs on heap, older logs in memory-mapped segments)
+    private TieredLogStore studyLogs;
 
     // DS 3: Subject dependency graph
-    private final SubjectGraph subjectGraph = new SubjectGraph();
+    private SubjectGraph subjectGraph;
 
     // DS 4: Interval tree for unavailable time blocks
-    private final IntervalTree intervalTree = new IntervalTree();
+    private IntervalTree intervalTree;
 
     // DS 5: Undo/Redo manager
-    private final UndoRedoManager undoRedoManager = new UndoRedoManager();
+    private UndoRedoManager undoRedoManager;
+
+    // DS 6: Full-text index over task titles, keyed by task id. Log descriptions are
+    // indexed by studyLogs itself (hot logs in memory, sealed logs inside their segments).
+    private InvertedIndex taskIndex;
+
+    // Open tasks by id, to resolve task search hits
+    private Map<Integer, Task> openTasks;
+
+    // DS 7: Per-subject task heaps + frontier of subjects whose prerequisites are done
+    private ReadyTaskIndex readyIndex;
+
+    // What-if plan comparisons run on the fork-join pool, outside the service lock
+    private final WhatIfPlanner whatIfPlanner = new WhatIfPlanner(ForkJoinPool.commonPool());
+
+    // Ordered log of recent writes, tailed by read replicas
+    private MutationLog mutationLog;
+
+    public StudyTrackerService(
+            @Value("${study-tracker.logs.hot-capacity:10000}") int hotLogCapacity,
+            @Value("${study-tracker.logs.segment-size:5000}") int logSegmentSize,
+            @Value("${study-tracker.logs.segment-dir:}") String logSegmentDir,
+            @Value("${study-tracker.replication.log-retention:10000}") int mutationLogRetention
+    ) {
+        this.logSegmentDir = (logSegmentDir == null || logSegmentDir.isBlank()) ? null : Path.of(logSegmentDir);
+        this.hotLogCapacity = hotLogCapacity;
+        this.logSegmentSize = logSegmentSize;
+        this.mutationLogRetention = mutationLogRetention;
+        resetState();
+        this.mutationLog = new MutationLog(mutationLogRetention);
+    }
+
+    // Fresh, empty data structures (the mutation log is handled by the caller).
+    // The old log store is closed first, so its segment files do not pile up.
+    private void resetState() {
+        if (studyLogs != null) studyLogs.close();
+        taskQueue = new PriorityQueue<>();
+        studyLogs = new TieredLogStore(logSegmentDir, hotLogCapacity, logSegmentSize);
+        subjectGraph = new SubjectGraph();
+        intervalTree = new IntervalTree();
+        undoRedoManager = new UndoRedoManager();
+        taskIndex = new InvertedIndex();
+        openTasks = new HashMap<>();
+        readyIndex = new ReadyTaskIndex();
+    }
 
     // --- Task Prioritization Methods (PriorityQueue / Max-Heap) ---
 
-    public synchronized Task addTask(String title, String subject, int priorityScore, LocalDate deadline) {
-        Task newTask = new Task(title, subject, priorityScore, deadline);
-        taskQueue.add(newTask); // O(log n)
-        subjectGraph.addSubject(subject);
+    public Task addTask(String title, String subject, int priorityScore, LocalDate deadline) {
+        return op("addTask", () -> {
+            Task newTask = new Task(title, subject, priorityScore, deadline);
+            applyAddTask(newTask);
+            mutationLog.append(Mutation.Type.TASK_ADDED, Mutation.data(
+                    "taskId", newTask.getTaskId(), "title", title, "subject", subject,
+                    "priorityScore", priorityScore, "deadline", deadline));
+            return newTask;
+        }, newTask -> 1);
+    }
+
+    private void applyAddTask(Task newTask) {
+        enqueueTask(newTask); // O(log n)
+        subjectGraph.addSubject(newTask.getSubject());
 
         // record for undo (task added)
         undoRedoManager.record(new Action(Action.ActionType.TASK_ADDED, newTask));
-        return newTask;
     }
 
-    public synchronized Task peekTopTask() {
-        return taskQueue.peek(); // O(1)
+    public Task peekTopTask() {
+        return op("peekTopTask", () -> taskQueue.peek(), top -> 1); // O(1)
+    }
+
+    public List<Task> getAllTasks() {
+        return op("getAllTasks", () -> sortedTasks(), List::size);
     }
 
-    public synchronized List<Task> getAllTasks() {
-        // Return tasks in priority order without modifying underlying queue
-        return taskQueue.stream().sorted().collect(Collectors.toList());
+    // Return tasks in priority order without modifying underlying queue
+    private List<Task> sortedTasks() {
+        ComputationEvent sort = ComputationEvent.begin("sortTasks");
+        List<Task> sorted = taskQueue.stream().sorted().collect(Collectors.toList());
+        sort.finish(taskQueue.size(), sorted.size());
+        return sorted;
     }
 
     /**
      * Marks the top priority task as complete and schedules a review.
      */
-    public synchronized Task completeTopTask(double durationHours, String notes) {
-        Task completedTask = taskQueue.poll(); // O(log n)
+    public Task completeTopTask(double durationHours, String notes) {
+        return op("completeTopTask", () -> {
+            LocalDate today = LocalDate.now();
+            Task completedTask = taskQueue.peek();
+            Task reviewTask = applyCompleteTopTask(today, durationHours, notes, 0);
+            mutationLog.append(Mutation.Type.TASK_COMPLETED, Mutation.data(
+                    "taskId", completedTask.getTaskId(), "reviewTaskId", reviewTask.getTaskId(),
+                    "date", today, "durationHours", durationHours, "notes", notes));
+            return completedTask;
+        }, completedTask -> 1);
+    }
+
+    /**
+     * Completes the top task on `date` and returns the scheduled review task.
+     * The review task gets `reviewTaskId`, or a fresh id when it is 0.
+     */
+    private Task applyCompleteTopTask(LocalDate date, double durationHours, String notes, int reviewTaskId) {
+        Task completedTask = taskQueue.peek();
         if (completedTask == null) {
             throw new NoSuchElementException("The task queue is empty.");
         }
 
-        // Log completion
-        autoLogCompletion(completedTask, durationHours, notes);
+        // Log completion first: if storing the log fails, the task stays queued
+        autoLogCompletion(completedTask, date, durationHours, notes);
+
+        taskQueue.poll(); // O(log n)
+        openTasks.remove(completedTask.getTaskId());
+        taskIndex.remove(completedTask.getTaskId());
+        readyIndex.remove(completedTask);
 
         // Schedule review
-        scheduleNextReview(completedTask);
+        Task reviewTask = scheduleNextReview(completedTask, date, reviewTaskId);
 
         // record for undo (task completed)
         undoRedoManager.record(new Action(Action.ActionType.TASK_COMPLETED, completedTask));
-
-        return completedTask;
+        return reviewTask;
     }
 
-    private void autoLogCompletion(Task completedTask, double durationHours, String notes) {
+    private void autoLogCompletion(Task completedTask, LocalDate date, double durationHours, String notes) {
         StudyLog newLog = new StudyLog(
-                LocalDate.now(),
+                date,
                 completedTask.getSubject(),
                 durationHours,
                 completedTask.getTitle() + (notes == null || notes.isEmpty() ? "" : ": " + notes)
         );
-        studyLogs.add(newLog);
+        studyLogs.append(newLog);
     }
 
-    private void scheduleNextReview(Task completedTask) {
+    private Task scheduleNextReview(Task completedTask, LocalDate completedOn, int reviewTaskId) {
         int reviewIntervalDays = 3;
-        LocalDate reviewDate = LocalDate.now().plusDays(reviewIntervalDays);
+        LocalDate reviewDate = completedOn.plusDays(reviewIntervalDays);
         int reviewPriority = 85;
 
         String reviewTitle = completedTask.isReview() ?
                 "Review: " + completedTask.getTitle().replaceFirst("Review: ", "") :
                 "Review: " + completedTask.getTitle();
 
-        Task reviewTask = new Task(
-                reviewTitle,
-                completedTask.getSubject(),
-                reviewPriority,
-                reviewDate,
-                true
-        );
+        Task reviewTask = reviewTaskId > 0 ?
+                new Task(reviewTaskId, reviewTitle, completedTask.getSubject(), reviewPriority, reviewDate, true) :
+                new Task(reviewTitle, completedTask.getSubject(), reviewPriority, reviewDate, true);
+
+        enqueueTask(reviewTask);
+        return reviewTask;
+    }
 
-        taskQueue.add(reviewTask);
+    // Every queue mutation goes through these so the search and ready indexes stay in sync.
+    private void enqueueTask(Task task) {
+        taskQueue.add(task);
+        openTasks.put(task.getTaskId(), task);
+        taskIndex.add(task.getTaskId(), task.getTitle());
+        readyIndex.add(task);
+        readyIndex.setUnlocked(task.getSubject(), subjectGraph.isUnlocked(task.getSubject()));
+    }
+
+    private void dequeueTask(Task task) {
+        if (taskQueue.remove(task)) {
+            openTasks.remove(task.getTaskId());
+            taskIndex.remove(task.getTaskId());
+            readyIndex.remove(task);
+        }
+    }
+
+    // --- Ready Tasks (per-subject heaps + unlocked frontier) ---
+
+    /**
+     * Highest priority task whose subject has all prerequisites done, or null.
+     */
+    public Task peekTopReadyTask() {
+        return op("peekTopReadyTask", () -> readyIndex.peekTopReady(), top -> 1);
+    }
+
+    /**
+     * Highest priority task of the given subject, or null if none or the subject is still locked.
+     */
+    public Task peekTopReadyTask(String subject) {
+        return op("peekTopReadyTaskForSubject", () -> readyIndex.peekTopReady(subject), top -> 1);
+    }
+
+    /**
+     * Best ready task of every unlocked subject, highest priority first.
+     */
+    public Map<String, Task> getTopReadyTaskBySubject() {
+        return op("getTopReadyTaskBySubject", () -> readyIndex.getTopReadyBySubject(), Map::size);
     }
 
     // --- Study Log Methods ---
 
-    public synchronized StudyLog insertLog(String subject, double durationHours, String description) {
-        StudyLog newLog = new StudyLog(LocalDate.now(), subject, durationHours, description);
-        studyLogs.add(newLog);
-        subjectGraph.addSubject(subject);
-        return newLog;
+    public StudyLog insertLog(String subject, double durationHours, String description) {
+        return op("insertLog", () -> {
+            StudyLog newLog = new StudyLog(LocalDate.now(), subject, durationHours, description);
+            applyInsertLog(newLog);
+            mutationLog.append(Mutation.Type.LOG_INSERTED, Mutation.data(
+                    "date", newLog.getDate(), "subject", subject,
+                    "durationHours", durationHours, "description", description));
+            return newLog;
+        }, newLog -> 1);
     }
 
-    public synchronized List<StudyLog> getAllLogs() {
-        return Collections.unmodifiableList(studyLogs);
+    private void applyInsertLog(StudyLog newLog) {
+        studyLogs.append(newLog);
+        subjectGraph.addSubject(newLog.getSubject());
     }
 
-    public synchronized Map<String, Double> getSummaryBySubject() {
-        Map<String, Double> durationBySubject = new HashMap<>();
-        for (StudyLog log : studyLogs) {
-            durationBySubject.compute(log.getSubject(), (k, v) -> (v == null) ? log.getDurationHours() : v + log.getDurationHours());
-        }
-        return durationBySubject;
+    public List<StudyLog> getAllLogs() {
+        return op("getAllLogs", () -> studyLogs.getAll(), List::size);
+    }
+
+    /**
+     * Logs dated within [from, to], inclusive. Sealed segments outside the range are not read.
+     */
+    public List<StudyLog> getLogsBetween(LocalDate from, LocalDate to) {
+        return op("getLogsBetween", () -> studyLogs.getBetween(from, to), List::size);
+    }
+
+    public Map<String, Double> getSummaryBySubject() {
+        return op("getSummaryBySubject", () -> studyLogs.getHoursBySubject(), Map::size);
+    }
+
+    // --- Full-Text Search (Inverted Index) ---
+
+    /**
+     * Searches open task titles and study log descriptions.
+     * Returns at most `limit` hits ordered by score, each as:
+     *   { "type": "task" | "log", "score": double, "task" | "log": object }
+     */
+    public List<Map<String, Object>> search(String query, int limit) {
+        return op("search", () -> {
+            List<Map<String, Object>> hits = new ArrayList<>();
+
+            // Tasks and logs score against the combined corpus, so their scores are comparable
+            List<TextIndex> logIndexes = studyLogs.getTextIndexes();
+            List<TextIndex> corpus = new ArrayList<>(logIndexes);
+            corpus.add(taskIndex);
+            for (InvertedIndex.Hit hit : taskIndex.search(query, limit, corpus)) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("type", "task");
+                entry.put("score", hit.getScore());
+                entry.put("task", openTasks.get((int) hit.getKey()));
+                hits.add(entry);
+            }
+            for (InvertedIndex.Hit hit : InvertedIndex.search(query, limit, logIndexes, corpus)) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("type", "log");
+                entry.put("score", hit.getScore());
+                entry.put("log", studyLogs.get(hit.getKey()));
+                hits.add(entry);
+            }
+
+            // Merge the two top-k lists and keep the overall top-k
+            hits.sort((a, b) -> Double.compare((double) b.get("score"), (double) a.get("score")));
+            if (hits.size() > limit) hits = new ArrayList<>(hits.subList(0, limit));
+            return hits;
+        }, List::size);
     }
 
     // --- Subject Dependency Methods (Graph) ---
 
-    public synchronized void addDependency(String prerequisite, String subject) {
+    public void addDependency(String prerequisite, String subject) {
+        op("addDependency", () -> {
+            applyAddDependency(prerequisite, subject);
+            mutationLog.append(Mutation.Type.DEPENDENCY_ADDED, Mutation.data(
+                    "prerequisite", prerequisite, "dependent", subject));
+        });
+    }
+
+    private void applyAddDependency(String prerequisite, String subject) {
         subjectGraph.addDependency(prerequisite, subject);
+        refreshUnlocked(subject);
         // record for undo
         undoRedoManager.record(new Action(Action.ActionType.DEPENDENCY_ADDED, prerequisite, subject));
     }
 
-    public synchronized List<String> getIdealStudyPath() {
-        return subjectGraph.getStudyPath();
+    /**
+     * Marks a subject as done. Returns the dependent subjects unlocked by this.
+     */
+    public List<String> markSubjectCompleted(String subject) {
+        return op("markSubjectCompleted", () -> {
+            List<String> unlocked = applyMarkSubjectCompleted(subject);
+            mutationLog.append(Mutation.Type.SUBJECT_COMPLETED, Mutation.data("subject", subject));
+            return unlocked;
+        }, List::size);
+    }
+
+    private List<String> applyMarkSubjectCompleted(String subject) {
+        List<String> unlocked = subjectGraph.markCompleted(subject);
+        for (String dependent : unlocked) refreshUnlocked(dependent);
+        return unlocked;
+    }
+
+    private void refreshUnlocked(String subject) {
+        readyIndex.setUnlocked(subject, subjectGraph.isUnlocked(subject));
+    }
+
+    /**
+     * Transitive prerequisites of the subject, or null if the subject is not in the graph
+     * (checked under the same lock as the lookup).
+     */
+    public List<String> getAllPrerequisites(String subject) {
+        return op("getAllPrerequisites", () -> subjectGraph.getAllSubjects().contains(subject)
+                ? subjectGraph.getAllPrerequisites(subject) : null, List::size);
+    }
+
+    /**
+     * Transitive dependents of the subject, or null if the subject is not in the graph.
+     */
+    public List<String> getAllDependents(String subject) {
+        return op("getAllDependents", () -> subjectGraph.getAllSubjects().contains(subject)
+                ? subjectGraph.getAllDependents(subject) : null, List::size);
+    }
+
+    public boolean isPrerequisite(String prerequisite, String subject) {
+        return op("isPrerequisite", () -> subjectGraph.isPrerequisite(prerequisite, subject), reachable -> 1);
     }
 
-    public synchronized Set<String> getSubjectsInGraph() {
-        return subjectGraph.getAllSubjects();
+    public List<String> getIdealStudyPath() {
+        return op("getIdealStudyPath", () -> subjectGraph.getStudyPath(), List::size);
+    }
+
+    public Set<String> getSubjectsInGraph() {
+        return op("getSubjectsInGraph", () -> subjectGraph.getAllSubjects(), Set::size);
     }
 
     // --- Interval Tree Methods (Scheduling) ---
@@ -151,47 +403,71 @@ public class StudyTrackerService {
      * Adds an unavailable time block. Times must be in HH:mm format (LocalTime).
      * Returns true if added (no conflict), false if a conflict exists.
      */
-    public synchronized boolean addUnavailableBlock(LocalTime start, LocalTime end) {
-        TimeInterval t = new TimeInterval(start, end);
-        return intervalTree.insert(t);
+    public boolean addUnavailableBlock(LocalTime start, LocalTime end) {
+        return op("addUnavailableBlock", () -> {
+            TimeInterval t = new TimeInterval(start, end);
+            boolean added = intervalTree.insert(t);
+            if (added) {
+                mutationLog.append(Mutation.Type.BLOCK_ADDED, Mutation.data("start", start, "end", end));
+            }
+            return added;
+        }, added -> added ? 1 : 0);
     }
 
     // --- Undo / Redo ---
 
-    public synchronized String undoAction() {
+    public String undoAction() {
+        return op("undoAction", () -> {
+            String result = applyUndo();
+            mutationLog.append(Mutation.Type.UNDO, Mutation.data());
+            return result;
+        }, result -> 1);
+    }
+
+    private String applyUndo() {
         var action = undoRedoManager.undo();
         if (action == null) return "Nothing to undo.";
 
         switch (action.getType()) {
             case TASK_ADDED:
                 // remove the task (if still present)
-                taskQueue.remove(action.getTaskData());
+                dequeueTask(action.getTaskData());
                 return "Undo: Task addition removed.";
             case TASK_COMPLETED:
                 // re-add the completed task back to queue
-                taskQueue.add(action.getTaskData());
+                enqueueTask(action.getTaskData());
                 return "Undo: Task completion reversed (task re-added).";
             case DEPENDENCY_ADDED:
                 subjectGraph.removeDependency(action.getPrereq(), action.getDependent());
+                refreshUnlocked(action.getDependent());
                 return "Undo: Dependency removed.";
             default:
                 return "Unsupported undo action.";
         }
     }
 
-    public synchronized String redoAction() {
+    public String redoAction() {
+        return op("redoAction", () -> {
+            String result = applyRedo();
+            mutationLog.append(Mutation.Type.REDO, Mutation.data());
+            return result;
+        }, result -> 1);
+    }
+
+    private String applyRedo() {
         var action = undoRedoManager.redo();
         if (action == null) return "Nothing to redo.";
 
         switch (action.getType()) {
             case TASK_ADDED:
-                taskQueue.add(action.getTaskData());
+                enqueueTask(action.getTaskData());
                 return "Redo: Task added again.";
             case TASK_COMPLETED:
-                taskQueue.remove(action.getTaskData());
+                dequeueTask(action.getTaskData());
                 return "Redo: Task marked completed again.";
             case DEPENDENCY_ADDED:
                 subjectGraph.addDependency(action.getPrereq(), action.getDependent());
+                refreshUnlocked(action.getDependent());
                 return "Redo: Dependency added again.";
             default:
                 return "Unsupported redo action.";
@@ -208,48 +484,280 @@ public class StudyTrackerService {
      *
      * Scheduling strategy (priority-based):
      *  - Build a list of tasks sorted descending by priority (highest first)
-     *  - Fill each day's slots sequentially from that list (cyclically) so top tasks
-     *    are scheduled earlier in the week and repeated if necessary.
-     *
-     * Return format:
-     *   Map<String, List<Map<String,Object>>> where key is day name (e.g., "Monday")
-     *   and each list item is a map: { "slot": 1, "taskId": int, "title": string, "subject": string }
+     *  - Fill each day's slots sequentially from that list (see {@link WeeklyPlanBuilder})
      */
-    public synchronized Map<String, List<Map<String, Object>>> generateWeeklyPlanUsingPriority(int slotsPerDay) {
-        List<Task> sortedTasks = getAllTasks(); // already sorted by priority descending
-        Map<String, List<Map<String, Object>>> weekPlan = new LinkedHashMap<>();
+    public Map<String, List<Map<String, Object>>> generateWeeklyPlanUsingPriority(int slotsPerDay) {
+        return op("generateWeeklyPlan",
+                () -> WeeklyPlanBuilder.build(sortedTasks(), slotsPerDay), // sorted by priority descending
+                plan -> plan.values().stream().mapToInt(List::size).sum());
+    }
 
-        // Days order: Monday -> Sunday
-        String[] days = { "Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday", "Sunday" };
+    // --------------------------------------------------------------------------
+    // What-if comparison of alternative weekly plans (fork-join)
+    // --------------------------------------------------------------------------
+
+    /**
+     * Copies tasks, unavailable blocks and prerequisites for the week being planned:
+     * the seven days starting today, so tasks due before next Monday can still be
+     * scheduled in time.
+     */
+    public PlanSnapshot takePlanSnapshot() {
+        return op("takePlanSnapshot", () -> {
+            Map<String, List<String>> prerequisites = new HashMap<>();
+            for (String subject : subjectGraph.getAllSubjects()) {
+                prerequisites.put(subject, subjectGraph.getAllPrerequisites(subject));
+            }
+            return new PlanSnapshot(new ArrayList<>(taskQueue), intervalTree.getIntervals(),
+                    prerequisites, subjectGraph.getCompletedSubjects(), LocalDate.now());
+        }, snapshot -> snapshot.getTasks().size());
+    }
+
+    /**
+     * Evaluates the candidate plans in parallel and returns them ranked, best first.
+     * Only the snapshot is taken under the service lock.
+     */
+    public List<PlanEvaluation> comparePlans(List<PlanCandidate> candidates) {
+        PlanSnapshot snapshot = takePlanSnapshot();
+        ComputationEvent compare = ComputationEvent.begin("comparePlans");
+        List<PlanEvaluation> ranked = whatIfPlanner.compare(snapshot, candidates);
+        compare.finish(candidates.size(), ranked.size());
+        return ranked;
+    }
+
+    // --------------------------------------------------------------------------
+    // Replication (primary -> read replicas)
+    // --------------------------------------------------------------------------
 
-        if (sortedTasks.isEmpty() || slotsPerDay <= 0) {
-            // return empty plan structure
-            for (String day : days) weekPlan.put(day, new ArrayList<>());
-            return weekPlan;
+    /**
+     * Mutations with seq > `afterSeq`, oldest first, at most `limit` of them, plus the
+     * log's epoch and last seq. `truncated` is set when some of them were already dropped.
+     */
+    public MutationBatch readMutationLog(long afterSeq, int limit) {
+        return op("readMutationLog", () -> new MutationBatch(mutationLog.getEpoch(), mutationLog.getLastSeq(),
+                mutationLog.isTruncatedAfter(afterSeq), mutationLog.readAfter(afterSeq, limit)),
+                batch -> batch.getMutations().size());
+    }
+
+    public long getLastMutationSeq() {
+        return op("getLastMutationSeq", () -> mutationLog.getLastSeq(), seq -> 1);
+    }
+
+    public String getMutationLogEpoch() {
+        return op("getMutationLogEpoch", () -> mutationLog.getEpoch(), epoch -> 1);
+    }
+
+    /**
+     * Replays one mutation from the primary. Mutations must belong to the log this
+     * replica follows and arrive in seq order with no gaps; anything else means this
+     * copy cannot match the primary and an IllegalStateException is thrown.
+     */
+    public void applyReplicated(Mutation m) {
+        op("applyReplicated", () -> {
+            if (!mutationLog.getEpoch().equals(m.getEpoch())) {
+                throw new IllegalStateException("Mutation " + m.getSeq() + " is from log " + m.getEpoch()
+                        + ", this replica follows " + mutationLog.getEpoch());
+            }
+            if (m.getSeq() != mutationLog.getLastSeq() + 1) {
+                throw new IllegalStateException("Out-of-order mutation " + m.getSeq()
+                        + ", expected " + (mutationLog.getLastSeq() + 1));
+            }
+
+            switch (m.getType()) {
+                case TASK_ADDED:
+                    applyAddTask(new Task(m.getInt("taskId"), m.getString("title"), m.getString("subject"),
+                            m.getInt("priorityScore"), m.getDate("deadline"), false));
+                    break;
+                case TASK_COMPLETED:
+                    Task top = taskQueue.peek();
+                    if (top == null || top.getTaskId() != m.getInt("taskId")) {
+                        throw new IllegalStateException("Replica diverged at mutation " + m.getSeq()
+                                + ": expected top task " + m.getInt("taskId"));
+                    }
+                    applyCompleteTopTask(m.getDate("date"), m.getDouble("durationHours"), m.getString("notes"),
+                            m.getInt("reviewTaskId"));
+                    break;
+                case LOG_INSERTED:
+                    applyInsertLog(new StudyLog(m.getDate("date"), m.getString("subject"),
+                            m.getDouble("durationHours"), m.getString("description")));
+                    break;
+                case DEPENDENCY_ADDED:
+                    applyAddDependency(m.getString("prerequisite"), m.getString("dependent"));
+                    break;
+                case SUBJECT_COMPLETED:
+                    applyMarkSubjectCompleted(m.getString("subject"));
+                    break;
+                case BLOCK_ADDED:
+                    intervalTree.insert(new TimeInterval(m.getTime("start"), m.getTime("end")));
+                    break;
+                case UNDO:
+                    applyUndo();
+                    break;
+                case REDO:
+                    applyRedo();
+                    break;
+            }
+            mutationLog.appendReplicated(m);
+        });
+    }
+
+    /**
+     * Copies the whole state, together with the log position it corresponds to.
+     * Under the lock, logs are only captured as a {@link TieredLogStore#view()}; sealed
+     * logs (usually most of them) are decoded when the snapshot's log list is read,
+     * e.g. while it is serialized, after the lock is released.
+     */
+    public StateSnapshot exportSnapshot() {
+        return op("exportSnapshot", () -> {
+            // Tasks referenced anywhere, so restored history points at the restored queue entries
+            Map<Integer, Task> tasks = new LinkedHashMap<>();
+            List<Integer> queued = new ArrayList<>();
+            for (Task t : taskQueue) { // heap order
+                tasks.put(t.getTaskId(), t);
+                queued.add(t.getTaskId());
+            }
+            List<Map<String, Object>> undo = exportActions(undoRedoManager.getUndoHistory(), tasks);
+            List<Map<String, Object>> redo = exportActions(undoRedoManager.getRedoHistory(), tasks);
+
+            List<Map<String, Object>> taskData = new ArrayList<>();
+            for (Task t : tasks.values()) {
+                taskData.add(Mutation.data("taskId", t.getTaskId(), "title", t.getTitle(), "subject", t.getSubject(),
+                        "priorityScore", t.getPriorityScore(), "deadline", t.getDeadline(), "review", t.isReview()));
+            }
+
+            List<String> subjects = new ArrayList<>(subjectGraph.getAllSubjects());
+            List<List<String>> dependencies = new ArrayList<>();
+            for (String prerequisite : subjects) {
+                for (String dependent : subjectGraph.getDirectDependents(prerequisite)) {
+                    dependencies.add(Arrays.asList(prerequisite, dependent));
+                }
+            }
+
+            List<Map<String, Object>> blocks = new ArrayList<>();
+            for (TimeInterval b : intervalTree.getIntervals()) {
+                blocks.add(Mutation.data("start", b.getStart(), "end", b.getEnd()));
+            }
+            List<StudyLog> logView = studyLogs.view();
+            List<Map<String, Object>> logs = new AbstractList<>() {
+                @Override
+                public Map<String, Object> get(int i) {
+                    StudyLog l = logView.get(i);
+                    return Mutation.data("date", l.getDate(), "subject", l.getSubject(),
+                            "durationHours", l.getDurationHours(), "description", l.getDescription());
+                }
+
+                @Override
+                public int size() {
+                    return logView.size();
+                }
+            };
+
+            return new StateSnapshot(mutationLog.getEpoch(), mutationLog.getLastSeq(), taskData, queued, undo, redo,
+                    subjects, dependencies, new ArrayList<>(subjectGraph.getCompletedSubjects()), blocks, logs);
+        }, snapshot -> snapshot.getTasks().size() + snapshot.getLogs().size());
+    }
+
+    private static List<Map<String, Object>> exportActions(List<Action> actions, Map<Integer, Task> tasks) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Action a : actions) {
+            if (a.getType() == Action.ActionType.DEPENDENCY_ADDED) {
+                result.add(Mutation.data("type", a.getType().name(),
+                        "prerequisite", a.getPrereq(), "dependent", a.getDependent()));
+            } else {
+                tasks.putIfAbsent(a.getTaskData().getTaskId(), a.getTaskData());
+                result.add(Mutation.data("type", a.getType().name(), "taskId", a.getTaskData().getTaskId()));
+            }
         }
+        return result;
+    }
 
-        // We will cycle through sortedTasks to fill slots across days to give high-priority tasks
-        // earlier positions but allow repetition across days if there are fewer tasks than slots/day*7.
-        int index = 0;
-        int n = sortedTasks.size();
+    /**
+     * Replaces the whole state with `snapshot` and continues its log from the snapshot's
+     * seq (used by replicas to bootstrap or to re-sync after the primary restarted).
+     */
+    public void installSnapshot(StateSnapshot snapshot) {
+        op("installSnapshot", () -> {
+            resetState();
 
-        for (String day : days) {
-            List<Map<String, Object>> daySlots = new ArrayList<>();
-            for (int slot = 1; slot <= slotsPerDay; slot++) {
-                Task t = sortedTasks.get(index % n);
-                Map<String, Object> entry = new LinkedHashMap<>();
-                entry.put("slot", slot);
-                entry.put("taskId", t.getTaskId());
-                entry.put("title", t.getTitle());
-                entry.put("subject", t.getSubject());
-                // Optional: approximate times can be added by frontend; keep simple here
-                daySlots.add(entry);
-                index++;
-            }
-            weekPlan.put(day, daySlots);
+            for (String subject : snapshot.getSubjects()) subjectGraph.addSubject(subject);
+            for (List<String> d : snapshot.getDependencies()) subjectGraph.addDependency(d.get(0), d.get(1));
+            for (String subject : snapshot.getCompletedSubjects()) subjectGraph.markCompleted(subject);
+
+            for (Map<String, Object> b : snapshot.getBlocks()) {
+                intervalTree.insert(new TimeInterval(LocalTime.parse((String) b.get("start")),
+                        LocalTime.parse((String) b.get("end"))));
+            }
+            for (Map<String, Object> l : snapshot.getLogs()) {
+                studyLogs.append(new StudyLog(LocalDate.parse((String) l.get("date")), (String) l.get("subject"),
+                        ((Number) l.get("durationHours")).doubleValue(), (String) l.get("description")));
+            }
+
+            Map<Integer, Task> tasks = new HashMap<>();
+            for (Map<String, Object> t : snapshot.getTasks()) {
+                int id = ((Number) t.get("taskId")).intValue();
+                tasks.put(id, new Task(id, (String) t.get("title"), (String) t.get("subject"),
+                        ((Number) t.get("priorityScore")).intValue(), LocalDate.parse((String) t.get("deadline")),
+                        Boolean.TRUE.equals(t.get("review"))));
+            }
+            // Re-adding in heap order rebuilds the same heap, so ties peek the same task
+            for (int id : snapshot.getQueuedTaskIds()) enqueueTask(tasks.get(id));
+            undoRedoManager.restore(importActions(snapshot.getUndoHistory(), tasks),
+                    importActions(snapshot.getRedoHistory(), tasks));
+
+            mutationLog.reset(snapshot.getEpoch(), snapshot.getSeq());
+        });
+    }
+
+    private static List<Action> importActions(List<Map<String, Object>> actions, Map<Integer, Task> tasks) {
+        List<Action> result = new ArrayList<>();
+        for (Map<String, Object> a : actions) {
+            Action.ActionType type = Action.ActionType.valueOf((String) a.get("type"));
+            if (type == Action.ActionType.DEPENDENCY_ADDED) {
+                result.add(new Action(type, (String) a.get("prerequisite"), (String) a.get("dependent")));
+            } else {
+                result.add(new Action(type, tasks.get(((Number) a.get("taskId")).intValue())));
+            }
+        }
+        return result;
+    }
+
+    // --- Locking + Flight Recorder ---
+
+    /**
+     * Runs `body` under the service lock as one recorded operation. The event is
+     * committed even if `body` throws; `resultSize` is only applied to a non-null result.
+     */
+    private <T> T op(String name, Supplier<T> body, ToIntFunction<T> resultSize) {
+        ServiceOperationEvent event = ServiceOperationEvent.begin(name);
+        synchronized (this) {
+            if (event.isEnabled()) {
+                event.lockAcquired(taskQueue.size(), subjectGraph.getAllSubjects().size(),
+                        subjectGraph.getDependencyCount(), studyLogs.size());
+            }
+            T result = null;
+            try {
+                result = body.get();
+                return result;
+            } catch (RuntimeException | Error e) {
+                event.failed(e);
+                throw e;
+            } finally {
+                commit(event, result, resultSize);
+            }
         }
+    }
 
-        return weekPlan;
+    private void op(String name, Runnable body) {
+        op(name, () -> {
+            body.run();
+            return Boolean.TRUE;
+        }, done -> 1);
     }
-}
 
+    // Ends the event and, only if it will be recorded, measures the result.
+    private static <T> void commit(ServiceOperationEvent event, T result, ToIntFunction<T> resultSize) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.record(result == null ? 0 : resultSize.applyAsInt(result));
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.aditya.Study.Tracker.service.data_structures;
 
 import com.aditya.Study.Tracker.data.models.TimeInterval;
+import com.aditya.Study.Tracker.service.monitoring.ComputationEvent;
 
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * A simple interval tree-like structure for detecting overlaps.
@@ -25,16 +28,27 @@ public class IntervalTree {
     }
 
     private Node root;
+    private int size;
 
     /**
      * Insert an interval. Returns true if inserted, false if a conflict (overlap) exists.
      */
     public synchronized boolean insert(TimeInterval interval) {
+        ComputationEvent event = ComputationEvent.begin("intervalTreeInsert");
+        boolean inserted;
         if (root == null) {
             root = new Node(interval);
-            return true;
+            inserted = true;
+        } else {
+            inserted = insertNode(root, interval);
         }
-        return insertNode(root, interval);
+        if (inserted) size++;
+        event.finish(size, inserted ? 1 : 0);
+        return inserted;
+    }
+
+    public synchronized int size() {
+        return size;
     }
 
     private boolean insertNode(Node node, TimeInterval interval) {
@@ -65,4 +79,20 @@ public class IntervalTree {
         }
         return true;
     }
+
+    /**
+     * Returns all stored intervals ordered by start time (in-order traversal).
+     */
+    public synchronized List<TimeInterval> getIntervals() {
+        List<TimeInterval> result = new ArrayList<>();
+        collect(root, result);
+        return result;
+    }
+
+    private void collect(Node node, List<TimeInterval> out) {
+        if (node == null) return;
+        collect(node.left, out);
+        out.add(node.interval);
+        collect(node.right, out);
+    }
 }
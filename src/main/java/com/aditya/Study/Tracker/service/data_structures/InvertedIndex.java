@@ -0,0 +1,534 @@
+package com.aditya.Study.Tracker.service.data_structures;
+
+import java.util.*;
+
+/**
+ * In-memory inverted index used for full-text search over short documents
+ * (task titles and study log descriptions).
+ *
+ * Documents are identified by non-negative int ids chosen by the caller (task ids,
+ * log sequence numbers). Terms are kept in a sorted map, so a prefix query is a
+ * single range scan. Each term's postings are impact-ordered (highest term frequency
+ * first, then highest id first), which lets a search stop as soon as no unread
+ * posting can beat the current top-k (threshold algorithm). Results are ranked by TF-IDF.
+ *
+ * Layout, chosen to keep hundreds of thousands of documents cheap:
+ *  - postings : per term, one sorted int[] block of doc ids per distinct term frequency
+ *  - documents: doc id -> packed int[] { termId, tf, termId, tf, ... } in an open-addressing table
+ * so a document costs about 4 bytes per term occurrence in the postings plus one small int[].
+ */
+public class InvertedIndex implements TextIndex {
+
+    // Prefix matches score lower than exact term matches.
+    private static final double PREFIX_WEIGHT = 0.5;
+
+    // Upper bound on terms a single prefix may expand to, keeps short prefixes cheap.
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    // Documents scored per search before giving up on an exact top-k: at least
+    // MIN_CANDIDATES, or CANDIDATES_PER_HIT per requested hit.
+    private static final int MIN_CANDIDATES = 1_000;
+    private static final int CANDIDATES_PER_HIT = 50;
+
+    public static class Hit {
+        private final long key;
+        private final double score;
+
+        public Hit(long key, double score) {
+            this.key = key;
+            this.score = score;
+        }
+
+        public long getKey() { return key; }
+        public double getScore() { return score; }
+    }
+
+    // Doc ids of one term that share a term frequency, ascending (read from the end: newest first)
+    private static class Block {
+        final int tf;
+        int[] docs = new int[2];
+        int size;
+
+        Block(int tf) {
+            this.tf = tf;
+        }
+
+        void add(int doc) {
+            if (size == docs.length) docs = Arrays.copyOf(docs, size * 2);
+            int at = size == 0 || docs[size - 1] < doc ? size : insertionPoint(doc);
+            System.arraycopy(docs, at, docs, at + 1, size - at);
+            docs[at] = doc;
+            size++;
+        }
+
+        boolean remove(int doc) {
+            int at = Arrays.binarySearch(docs, 0, size, doc);
+            if (at < 0) return false;
+            System.arraycopy(docs, at + 1, docs, at, size - at - 1);
+            size--;
+            return true;
+        }
+
+        private int insertionPoint(int doc) {
+            int at = Arrays.binarySearch(docs, 0, size, doc);
+            return at < 0 ? -at - 1 : at;
+        }
+    }
+
+    private static class Term {
+        final int id;
+        final String text;
+        Block[] blocks = new Block[0]; // highest tf first
+        int df;
+
+        Term(int id, String text) {
+            this.id = id;
+            this.text = text;
+        }
+
+        void add(int doc, int tf) {
+            int i = 0;
+            while (i < blocks.length && blocks[i].tf > tf) i++;
+            if (i == blocks.length || blocks[i].tf != tf) {
+                Block[] grown = new Block[blocks.length + 1];
+                System.arraycopy(blocks, 0, grown, 0, i);
+                System.arraycopy(blocks, i, grown, i + 1, blocks.length - i);
+                grown[i] = new Block(tf);
+                blocks = grown;
+            }
+            blocks[i].add(doc);
+            df++;
+        }
+
+        void remove(int doc, int tf) {
+            for (int i = 0; i < blocks.length; i++) {
+                if (blocks[i].tf != tf) continue;
+                if (!blocks[i].remove(doc)) return;
+                df--;
+                if (blocks[i].size == 0) {
+                    Block[] shrunk = new Block[blocks.length - 1];
+                    System.arraycopy(blocks, 0, shrunk, 0, i);
+                    System.arraycopy(blocks, i + 1, shrunk, i, blocks.length - i - 1);
+                    blocks = shrunk;
+                }
+                return;
+            }
+        }
+    }
+
+    private static class TermPostings implements Postings {
+        private final Block[] blocks;
+        private final int size;
+        private int block = 0;
+        private int pos; // index in the current block, counting down
+
+        TermPostings(Term term) {
+            this.blocks = term.blocks;
+            this.size = term.df;
+            this.pos = blocks.length == 0 ? -1 : blocks[0].size;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean advance() {
+            while (block < blocks.length) {
+                if (--pos >= 0) return true;
+                if (++block < blocks.length) pos = blocks[block].size;
+            }
+            return false;
+        }
+
+        @Override
+        public int tf() {
+            return blocks[block].tf;
+        }
+
+        @Override
+        public long key() {
+            return blocks[block].docs[pos];
+        }
+    }
+
+    /**
+     * Doc id -> packed term frequencies. Open addressing with linear probing, so an
+     * entry costs two array slots instead of a map entry plus a boxed key.
+     */
+    private static class DocTable {
+        private int[] keys = new int[16];
+        private int[][] values = new int[16][];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        int[] get(int key) {
+            for (int i = slot(key); ; i = next(i)) {
+                if (values[i] == null) return null;
+                if (keys[i] == key) return values[i];
+            }
+        }
+
+        void put(int key, int[] value) {
+            if ((size + 1) * 2 > keys.length) resize(keys.length * 2);
+            int i = slot(key);
+            while (values[i] != null && keys[i] != key) i = next(i);
+            if (values[i] == null) size++;
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        int[] remove(int key) {
+            int i = slot(key);
+            while (values[i] != null && keys[i] != key) i = next(i);
+            int[] removed = values[i];
+            if (removed == null) return null;
+            values[i] = null;
+            size--;
+
+            // Shift back later entries of the probe run so lookups never stop early at the hole
+            for (int j = next(i); values[j] != null; j = next(j)) {
+                int home = slot(keys[j]);
+                boolean stays = i <= j ? (i < home && home <= j) : (i < home || home <= j);
+                if (stays) continue;
+                keys[i] = keys[j];
+                values[i] = values[j];
+                values[j] = null;
+                i = j;
+            }
+            return removed;
+        }
+
+        private void resize(int capacity) {
+            int[] oldKeys = keys;
+            int[][] oldValues = values;
+            keys = new int[capacity];
+            values = new int[capacity][];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] != null) put(oldKeys[i], oldValues[i]);
+            }
+        }
+
+        private int slot(int key) {
+            int h = key * 0x9E3779B9;
+            return (h ^ (h >>> 16)) & (keys.length - 1);
+        }
+
+        private int next(int i) {
+            return (i + 1) & (keys.length - 1);
+        }
+    }
+
+    // Reads one term's postings in impact order during a search
+    private static class Cursor {
+        final TextIndex source;
+        final Postings postings;
+        final double weight; // query weight * idf of the term
+
+        Cursor(TextIndex source, Postings postings, double weight) {
+            this.source = source;
+            this.postings = postings;
+            this.weight = weight;
+        }
+
+        // Best score contribution any unread posting of this term can still make
+        double bound() {
+            return weight * postings.tf();
+        }
+    }
+
+    // Term text -> term; sorted for prefix scans
+    private final NavigableMap<String, Term> terms = new TreeMap<>();
+
+    // Term id -> term, ids of removed terms are reused
+    private Term[] termsById = new Term[16];
+    private int[] freeTermIds = new int[0];
+    private int freeTermCount = 0;
+    private int nextTermId = 0;
+
+    private final DocTable docs = new DocTable();
+
+    /**
+     * Indexes a document under a non-negative id. Re-adding an id replaces its previous text.
+     */
+    public void add(int id, String text) {
+        if (id < 0) throw new IllegalArgumentException("Document id must not be negative.");
+        remove(id);
+        List<String> tokens = tokenize(text);
+        if (tokens.isEmpty()) return;
+
+        Map<String, Integer> tf = new HashMap<>();
+        for (String token : tokens) tf.merge(token, 1, Integer::sum);
+
+        int[] packed = new int[tf.size() * 2];
+        int i = 0;
+        for (Map.Entry<String, Integer> e : tf.entrySet()) {
+            Term term = terms.computeIfAbsent(e.getKey(), this::newTerm);
+            term.add(id, e.getValue());
+            packed[i++] = term.id;
+            packed[i++] = e.getValue();
+        }
+        docs.put(id, packed);
+    }
+
+    /**
+     * Removes a document from the index, if present.
+     */
+    public void remove(int id) {
+        int[] packed = docs.remove(id);
+        if (packed == null) return;
+
+        for (int i = 0; i < packed.length; i += 2) {
+            Term term = termsById[packed[i]];
+            term.remove(id, packed[i + 1]);
+            if (term.df == 0) releaseTerm(term);
+        }
+    }
+
+    private Term newTerm(String text) {
+        int id;
+        if (freeTermCount > 0) {
+            id = freeTermIds[--freeTermCount];
+        } else {
+            id = nextTermId++;
+            if (id == termsById.length) termsById = Arrays.copyOf(termsById, id * 2);
+        }
+        Term term = new Term(id, text);
+        termsById[id] = term;
+        return term;
+    }
+
+    private void releaseTerm(Term term) {
+        terms.remove(term.text);
+        termsById[term.id] = null;
+        if (freeTermCount == freeTermIds.length) freeTermIds = Arrays.copyOf(freeTermIds, Math.max(8, freeTermCount * 2));
+        freeTermIds[freeTermCount++] = term.id;
+    }
+
+    @Override
+    public int size() {
+        return docs.size();
+    }
+
+    @Override
+    public int getDocumentFrequency(String term) {
+        Term t = terms.get(term);
+        return t == null ? 0 : t.df;
+    }
+
+    @Override
+    public List<String> getTermsWithPrefix(String prefix, int max) {
+        List<String> result = new ArrayList<>();
+        for (String term : terms.subMap(prefix, false, prefix + Character.MAX_VALUE, false).keySet()) {
+            if (result.size() >= max) break;
+            result.add(term);
+        }
+        return result;
+    }
+
+    @Override
+    public Postings getPostings(String term) {
+        Term t = terms.get(term);
+        return t == null ? null : new TermPostings(t);
+    }
+
+    @Override
+    public Map<String, Integer> getTermFrequencies(long key) {
+        int[] packed = key < 0 || key > Integer.MAX_VALUE ? null : docs.get((int) key);
+        if (packed == null) return Collections.emptyMap();
+
+        Map<String, Integer> tf = new HashMap<>(packed.length);
+        for (int i = 0; i < packed.length; i += 2) tf.put(termsById[packed[i]].text, packed[i + 1]);
+        return tf;
+    }
+
+    /**
+     * Same as {@link #search(String, int, Collection)} with this index as the whole corpus.
+     */
+    public List<Hit> search(String query, int limit) {
+        return search(query, limit, List.of(this));
+    }
+
+    /**
+     * Same as {@link #search(String, int, List, Collection)} over this index only.
+     */
+    public List<Hit> search(String query, int limit, Collection<? extends TextIndex> corpus) {
+        return search(query, limit, List.of(this), corpus);
+    }
+
+    /**
+     * Returns up to {@code limit} documents of `sources` ranked by relevance. The sources
+     * are searched as one index, so their keys must not overlap.
+     * Every query token matches exactly; the last token also matches as a prefix,
+     * so partially typed words still find results.
+     *
+     * IDF is computed over all of `corpus` (which should include the sources), so
+     * scores from searches run with the same corpus can be merged directly.
+     *
+     * Postings are read best-first and the scan stops once no unread document can
+     * enter the top-k. If that takes more than max(MIN_CANDIDATES, CANDIDATES_PER_HIT * limit)
+     * documents, the best hits found so far are returned, so very broad multi-word
+     * queries may miss some equally relevant documents.
+     */
+    public static List<Hit> search(String query, int limit, List<? extends TextIndex> sources,
+                                   Collection<? extends TextIndex> corpus) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) return Collections.emptyList();
+
+        int n = 0;
+        for (TextIndex index : corpus) n += index.size();
+        if (n == 0) return Collections.emptyList();
+
+        Set<TextIndex> sourceSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        sourceSet.addAll(sources);
+        List<TextIndex> others = new ArrayList<>();
+        for (TextIndex index : corpus) {
+            if (!sourceSet.contains(index)) others.add(index);
+        }
+
+        // Per query token: the weight of every term it matches, and one cursor per term and source
+        List<Map<String, Double>> tokenTerms = new ArrayList<>();
+        List<PriorityQueue<Cursor>> frontiers = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            Map<String, Double> weights = new HashMap<>();
+            PriorityQueue<Cursor> frontier =
+                    new PriorityQueue<>(Comparator.comparingDouble(Cursor::bound).reversed());
+
+            addTerm(token, 1.0, n, sources, others, weights, frontier);
+            if (i == tokens.size() - 1) {
+                // Sorted union over the sources, so every source expands to the same terms
+                TreeSet<String> expansions = new TreeSet<>();
+                for (TextIndex source : sources) expansions.addAll(source.getTermsWithPrefix(token, MAX_PREFIX_EXPANSIONS));
+                int expanded = 0;
+                for (String term : expansions) {
+                    if (expanded++ >= MAX_PREFIX_EXPANSIONS) break;
+                    addTerm(term, PREFIX_WEIGHT, n, sources, others, weights, frontier);
+                }
+            }
+            tokenTerms.add(weights);
+            frontiers.add(frontier);
+        }
+
+        int budget = limit >= Integer.MAX_VALUE / CANDIDATES_PER_HIT
+                ? Integer.MAX_VALUE
+                : Math.max(MIN_CANDIDATES, limit * CANDIDATES_PER_HIT);
+
+        // Min-heap of size `limit` keeps the best hits seen so far
+        PriorityQueue<Hit> top = new PriorityQueue<>(Comparator.comparingDouble(Hit::getScore));
+        Set<Long> scored = new HashSet<>();
+
+        while (scored.size() < budget) {
+            // Threshold: the best score a document not read yet could still reach
+            int best = -1, active = 0;
+            double bestBound = 0, threshold = 0;
+            for (int t = 0; t < frontiers.size(); t++) {
+                Cursor head = frontiers.get(t).peek();
+                if (head == null) continue;
+                active++;
+                threshold += head.bound();
+                if (best < 0 || head.bound() > bestBound) {
+                    best = t;
+                    bestBound = head.bound();
+                }
+            }
+            if (best < 0) break;
+
+            // An unread document can only match tokens that still have postings left
+            threshold *= (double) active / tokens.size();
+            if (top.size() >= limit && top.peek().getScore() >= threshold) break;
+
+            Cursor cursor = frontiers.get(best).poll();
+            long key = cursor.postings.key();
+            TextIndex source = cursor.source;
+            if (cursor.postings.advance()) frontiers.get(best).add(cursor);
+            if (!scored.add(key)) continue;
+
+            double score = score(source.getTermFrequencies(key), tokenTerms);
+            if (top.size() < limit) {
+                top.add(new Hit(key, score));
+            } else if (top.peek().getScore() < score) {
+                top.poll();
+                top.add(new Hit(key, score));
+            }
+        }
+
+        List<Hit> result = new ArrayList<>(top);
+        result.sort(Comparator.comparingDouble(Hit::getScore).reversed());
+        return result;
+    }
+
+    private static void addTerm(String term, double weight, int n, List<? extends TextIndex> sources,
+                                List<TextIndex> others,
+                                Map<String, Double> weights, PriorityQueue<Cursor> frontier) {
+        // Sources look the term up once: their postings also give its document frequency
+        Postings[] opened = new Postings[sources.size()];
+        int df = 0;
+        for (int i = 0; i < opened.length; i++) {
+            opened[i] = sources.get(i).getPostings(term);
+            if (opened[i] != null) df += opened[i].size();
+        }
+        for (TextIndex index : others) df += index.getDocumentFrequency(term);
+        double termWeight = weight * Math.log(1.0 + (double) n / Math.max(df, 1));
+
+        for (int i = 0; i < opened.length; i++) {
+            if (opened[i] == null || !opened[i].advance()) continue;
+            weights.put(term, termWeight);
+            frontier.add(new Cursor(sources.get(i), opened[i], termWeight));
+        }
+    }
+
+    /**
+     * Score of one document: each query token contributes its best matching term
+     * (tf * idf * weight), scaled by the fraction of query tokens the document matches.
+     */
+    private static double score(Map<String, Integer> docTf, List<Map<String, Double>> tokenTerms) {
+        double sum = 0;
+        int matched = 0;
+        for (Map<String, Double> weights : tokenTerms) {
+            double best = 0;
+            if (weights.size() <= docTf.size()) {
+                for (Map.Entry<String, Double> w : weights.entrySet()) {
+                    Integer tf = docTf.get(w.getKey());
+                    if (tf != null) best = Math.max(best, w.getValue() * tf);
+                }
+            } else {
+                for (Map.Entry<String, Integer> tf : docTf.entrySet()) {
+                    Double w = weights.get(tf.getKey());
+                    if (w != null) best = Math.max(best, w * tf.getValue());
+                }
+            }
+            if (best > 0) {
+                sum += best;
+                matched++;
+            }
+        }
+        return sum * matched / tokenTerms.size();
+    }
+
+    /**
+     * Splits text into lower-case letter/digit tokens.
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) return Collections.emptyList();
+
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                current.append(Character.toLowerCase(c));
+            } else if (current.length() > 0) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) tokens.add(current.toString());
+        return tokens;
+    }
+}
@@ -0,0 +1,139 @@
+package com.aditya.Study.Tracker.service.data_structures;
+
+import java.util.*;
+
+/**
+ * Transitive closure of the subject dependency graph, stored as bitset rows.
+ *
+ * Every subject gets a dense id. For each id we keep:
+ *  - descendants[id] : subjects reachable from it (what finishing it unlocks)
+ *  - ancestors[id]   : subjects that reach it (everything needed before it)
+ *
+ * Reachability checks are a single bit test, O(1); ancestor/descendant sets are
+ * one row, O(V/64) words. Rows are updated incrementally:
+ *  - add edge u->v    : every ancestor of u (and u) gains v and v's descendants
+ *  - remove edge u->v : only pairs (ancestor of u, descendant of v) can lose
+ *    reachability, so only those rows are recomputed
+ */
+public class ReachabilityIndex {
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+    private final List<BitSet> descendants = new ArrayList<>();
+    private final List<BitSet> ancestors = new ArrayList<>();
+
+    public int addNode(String subject) {
+        Integer id = ids.get(subject);
+        if (id != null) return id;
+
+        id = names.size();
+        ids.put(subject, id);
+        names.add(subject);
+        descendants.add(new BitSet());
+        ancestors.add(new BitSet());
+        return id;
+    }
+
+    public boolean contains(String subject) {
+        return ids.containsKey(subject);
+    }
+
+    /**
+     * Records the edge prerequisite -> dependent.
+     */
+    public void addEdge(String prerequisite, String dependent) {
+        int u = addNode(prerequisite);
+        int v = addNode(dependent);
+        if (descendants.get(u).get(v)) return; // already reachable, closure unchanged
+
+        BitSet sources = (BitSet) ancestors.get(u).clone();
+        sources.set(u);
+        BitSet targets = (BitSet) descendants.get(v).clone();
+        targets.set(v);
+
+        for (int a = sources.nextSetBit(0); a >= 0; a = sources.nextSetBit(a + 1)) {
+            descendants.get(a).or(targets);
+        }
+        for (int d = targets.nextSetBit(0); d >= 0; d = targets.nextSetBit(d + 1)) {
+            ancestors.get(d).or(sources);
+        }
+    }
+
+    /**
+     * Updates the closure after the edge prerequisite -> dependent was removed.
+     * {@code adjList} must already reflect the removal.
+     */
+    public void removeEdge(String prerequisite, String dependent, Map<String, List<String>> adjList) {
+        Integer u = ids.get(prerequisite);
+        Integer v = ids.get(dependent);
+        if (u == null || v == null) return;
+
+        BitSet sources = (BitSet) ancestors.get(u).clone();
+        sources.set(u);
+        BitSet targets = (BitSet) descendants.get(v).clone();
+        targets.set(v);
+
+        for (int a = sources.nextSetBit(0); a >= 0; a = sources.nextSetBit(a + 1)) {
+            descendants.set(a, reachableFrom(a, adjList));
+        }
+        for (int d = targets.nextSetBit(0); d >= 0; d = targets.nextSetBit(d + 1)) {
+            BitSet row = ancestors.get(d);
+            for (int a = sources.nextSetBit(0); a >= 0; a = sources.nextSetBit(a + 1)) {
+                row.set(a, descendants.get(a).get(d));
+            }
+        }
+    }
+
+    /**
+     * True if {@code prerequisite} must be finished (directly or transitively) before {@code dependent}.
+     */
+    public boolean reaches(String prerequisite, String dependent) {
+        Integer u = ids.get(prerequisite);
+        Integer v = ids.get(dependent);
+        return u != null && v != null && descendants.get(u).get(v);
+    }
+
+    /**
+     * Every subject that must come before the given one (excluding itself).
+     */
+    public List<String> getAncestors(String subject) {
+        return namesOf(ancestors, subject);
+    }
+
+    /**
+     * Every subject that (transitively) depends on the given one (excluding itself).
+     */
+    public List<String> getDescendants(String subject) {
+        return namesOf(descendants, subject);
+    }
+
+    private List<String> namesOf(List<BitSet> rows, String subject) {
+        Integer id = ids.get(subject);
+        if (id == null) return Collections.emptyList();
+
+        BitSet row = rows.get(id);
+        List<String> result = new ArrayList<>(row.cardinality());
+        for (int i = row.nextSetBit(0); i >= 0; i = row.nextSetBit(i + 1)) {
+            if (i != id) result.add(names.get(i));
+        }
+        return result;
+    }
+
+    // DFS from one node over the current adjacency list
+    private BitSet reachableFrom(int start, Map<String, List<String>> adjList) {
+        BitSet seen = new BitSet();
+        Deque<Integer> stack = new ArrayDeque<>();
+        stack.push(start);
+        while (!stack.isEmpty()) {
+            int x = stack.pop();
+            for (String next : adjList.getOrDefault(names.get(x), Collections.emptyList())) {
+                int y = ids.get(next);
+                if (!seen.get(y)) {
+                    seen.set(y);
+                    stack.push(y);
+                }
+            }
+        }
+        return seen;
+    }
+}
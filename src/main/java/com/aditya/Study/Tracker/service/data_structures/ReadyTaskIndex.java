@@ -0,0 +1,103 @@
+package com.aditya.Study.Tracker.service.data_structures;
+
+import com.aditya.Study.Tracker.data.models.Task;
+
+import java.util.*;
+
+/**
+ * Indexes open tasks into one max-heap per subject and keeps a "frontier":
+ * the head task of every unlocked subject (all prerequisites done), ordered by priority.
+ *
+ *  - top ready task overall : first element of the frontier, O(log s)
+ *  - top task of a subject  : peek of that subject's heap, O(1)
+ *  - add / remove / lock    : O(log n) per subject heap + O(log s) frontier update
+ *    (removing a non-head task is O(n) within its subject heap, as in PriorityQueue)
+ */
+public class ReadyTaskIndex {
+
+    // Higher priority first; task id breaks ties so distinct tasks never compare equal,
+    // and the head of a subject does not depend on the order its tasks were added
+    private static final Comparator<Task> TASK_ORDER =
+            Comparator.<Task>naturalOrder().thenComparingInt(Task::getTaskId);
+
+    private final Map<String, PriorityQueue<Task>> bySubject = new HashMap<>();
+    private final Set<String> lockedSubjects = new HashSet<>();
+    private final TreeSet<Task> frontier = new TreeSet<>(TASK_ORDER);
+
+    public void add(Task task) {
+        String subject = task.getSubject();
+        PriorityQueue<Task> heap = bySubject.computeIfAbsent(subject, s -> new PriorityQueue<>(TASK_ORDER));
+        detachHead(subject);
+        heap.add(task);
+        attachHead(subject);
+    }
+
+    public void remove(Task task) {
+        String subject = task.getSubject();
+        PriorityQueue<Task> heap = bySubject.get(subject);
+        if (heap == null) return;
+
+        detachHead(subject);
+        heap.remove(task);
+        if (heap.isEmpty()) {
+            bySubject.remove(subject);
+        } else {
+            attachHead(subject);
+        }
+    }
+
+    /**
+     * Marks a subject as locked (has unfinished prerequisites) or unlocked.
+     * Subjects are unlocked unless told otherwise.
+     */
+    public void setUnlocked(String subject, boolean unlocked) {
+        if (unlocked == !lockedSubjects.contains(subject)) return;
+
+        detachHead(subject);
+        if (unlocked) {
+            lockedSubjects.remove(subject);
+        } else {
+            lockedSubjects.add(subject);
+        }
+        attachHead(subject);
+    }
+
+    /**
+     * Highest priority task whose subject is unlocked, or null.
+     */
+    public Task peekTopReady() {
+        return frontier.isEmpty() ? null : frontier.first();
+    }
+
+    /**
+     * Highest priority task of the subject if that subject is unlocked, or null.
+     */
+    public Task peekTopReady(String subject) {
+        if (lockedSubjects.contains(subject)) return null;
+        PriorityQueue<Task> heap = bySubject.get(subject);
+        return heap == null ? null : heap.peek();
+    }
+
+    /**
+     * Best task of every unlocked subject, highest priority first.
+     */
+    public Map<String, Task> getTopReadyBySubject() {
+        Map<String, Task> result = new LinkedHashMap<>();
+        for (Task head : frontier) {
+            result.put(head.getSubject(), head);
+        }
+        return result;
+    }
+
+    // Frontier entries must be removed before a subject's heap changes, since the
+    // TreeSet locates them by comparing the current head.
+    private void detachHead(String subject) {
+        PriorityQueue<Task> heap = bySubject.get(subject);
+        if (heap != null && !heap.isEmpty()) frontier.remove(heap.peek());
+    }
+
+    private void attachHead(String subject) {
+        PriorityQueue<Task> heap = bySubject.get(subject);
+        if (heap != null && !heap.isEmpty() && !lockedSubjects.contains(subject)) frontier.add(heap.peek());
+    }
+}
@@ -1,18 +1,35 @@
 package com.aditya.Study.Tracker.service.data_structures;
 
+import com.aditya.Study.Tracker.service.monitoring.ComputationEvent;
+
 import java.util.*;
 
 /**
  * Manages subject dependencies and runs Topological Sort (Kahn's Algorithm).
+ * Also tracks which subjects are done and keeps, for every subject, a counter of
+ * prerequisites that are not done yet, so "is this subject unlocked?" is O(1).
+ * Transitive prerequisite/dependent queries are answered by a {@link ReachabilityIndex}.
  */
 public class SubjectGraph {
     // Adjacency List: Key=Subject, Value=List of subjects that depend on Key
     private final Map<String, List<String>> adjList = new HashMap<>();
-    private final Set<String> allSubjects = new HashSet<>();
+    // Insertion order, so iteration (and the study path) does not depend on hashing and a
+    // replica rebuilt from a snapshot orders subjects exactly like the primary
+    private final Set<String> allSubjects = new LinkedHashSet<>();
+    private int dependencyCount = 0;
+
+    // Subjects marked as done, and per subject the number of prerequisites not yet done
+    private final Set<String> completedSubjects = new HashSet<>();
+    private final Map<String, Integer> pendingPrerequisites = new HashMap<>();
+
+    // Transitive closure, kept in sync with adjList
+    private final ReachabilityIndex reachability = new ReachabilityIndex();
 
     public void addSubject(String subject) {
         allSubjects.add(subject);
         adjList.putIfAbsent(subject, new ArrayList<>());
+        pendingPrerequisites.putIfAbsent(subject, 0);
+        reachability.addNode(subject);
     }
 
     /**
@@ -23,6 +40,11 @@ public class SubjectGraph {
         addSubject(subject);
         if (!adjList.get(prerequisite).contains(subject)) {
             adjList.get(prerequisite).add(subject);
+            dependencyCount++;
+            reachability.addEdge(prerequisite, subject);
+            if (!completedSubjects.contains(prerequisite)) {
+                pendingPrerequisites.merge(subject, 1, Integer::sum);
+            }
         }
     }
 
@@ -32,9 +54,65 @@ public class SubjectGraph {
      */
     public void removeDependency(String prerequisite, String subject) {
         List<String> deps = adjList.get(prerequisite);
-        if (deps != null) {
-            deps.remove(subject);
+        if (deps != null && deps.remove(subject)) {
+            dependencyCount--;
+            reachability.removeEdge(prerequisite, subject, adjList);
+            if (!completedSubjects.contains(prerequisite)) {
+                pendingPrerequisites.merge(subject, -1, Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * Marks a subject as done and returns the dependents that became unlocked by it.
+     */
+    public List<String> markCompleted(String subject) {
+        addSubject(subject);
+        if (!completedSubjects.add(subject)) return Collections.emptyList();
+
+        List<String> unlocked = new ArrayList<>();
+        for (String dependent : adjList.get(subject)) {
+            if (pendingPrerequisites.merge(dependent, -1, Integer::sum) == 0) {
+                unlocked.add(dependent);
+            }
         }
+        return unlocked;
+    }
+
+    /**
+     * True when every prerequisite of the subject is done (or it has none).
+     */
+    public boolean isUnlocked(String subject) {
+        return pendingPrerequisites.getOrDefault(subject, 0) == 0;
+    }
+
+    public boolean isCompleted(String subject) {
+        return completedSubjects.contains(subject);
+    }
+
+    public Set<String> getCompletedSubjects() {
+        return Collections.unmodifiableSet(completedSubjects);
+    }
+
+    /**
+     * All subjects that must be finished (directly or transitively) before the given one.
+     */
+    public List<String> getAllPrerequisites(String subject) {
+        return reachability.getAncestors(subject);
+    }
+
+    /**
+     * All subjects that finishing the given one (directly or transitively) leads to.
+     */
+    public List<String> getAllDependents(String subject) {
+        return reachability.getDescendants(subject);
+    }
+
+    /**
+     * True if {@code prerequisite} must come before {@code subject}, through any chain.
+     */
+    public boolean isPrerequisite(String prerequisite, String subject) {
+        return reachability.reaches(prerequisite, subject);
     }
 
     /**
@@ -44,6 +122,16 @@ public class SubjectGraph {
     public List<String> getStudyPath() {
         if (allSubjects.isEmpty()) return Collections.emptyList();
 
+        ComputationEvent event = ComputationEvent.begin("topologicalSort");
+        try {
+            return kahnSort();
+        } finally {
+            event.finish(allSubjects.size() + dependencyCount, allSubjects.size());
+        }
+    }
+
+    private List<String> kahnSort() {
+
         Map<String, Integer> inDegree = new HashMap<>();
         Queue<String> queue = new LinkedList<>();
         List<String> path = new ArrayList<>();
@@ -82,6 +170,17 @@ public class SubjectGraph {
         return path;
     }
 
+    /**
+     * Subjects that directly depend on the given one, in the order the edges were added.
+     */
+    public List<String> getDirectDependents(String subject) {
+        return Collections.unmodifiableList(adjList.getOrDefault(subject, Collections.emptyList()));
+    }
+
+    public int getDependencyCount() {
+        return dependencyCount;
+    }
+
     public Set<String> getAllSubjects() {
         return Collections.unmodifiableSet(allSubjects);
     }
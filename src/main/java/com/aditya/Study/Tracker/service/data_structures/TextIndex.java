@@ -0,0 +1,59 @@
+package com.aditya.Study.Tracker.service.data_structures;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read side of a full-text index, as used by {@link InvertedIndex#search(String, int, List, java.util.Collection)}:
+ * term statistics plus impact-ordered postings over documents identified by a key.
+ *
+ * Implemented by the in-memory {@link InvertedIndex} and by sealed log segments
+ * (see {@link TieredLogStore}), so one search can run over both.
+ */
+public interface TextIndex {
+
+    /**
+     * One term's postings, highest term frequency first, then highest key first.
+     * Starts before the first posting.
+     */
+    interface Postings {
+        /**
+         * Moves to the next posting; false if there is none.
+         */
+        boolean advance();
+
+        /**
+         * Total number of postings (the term's document frequency).
+         */
+        int size();
+
+        int tf();
+
+        long key();
+    }
+
+    /**
+     * Number of documents indexed.
+     */
+    int size();
+
+    /**
+     * Number of documents containing `term`.
+     */
+    int getDocumentFrequency(String term);
+
+    /**
+     * Up to `max` indexed terms that start with `prefix` and are longer than it, in sorted order.
+     */
+    List<String> getTermsWithPrefix(String prefix, int max);
+
+    /**
+     * Postings of `term`, or null if no document contains it.
+     */
+    Postings getPostings(String term);
+
+    /**
+     * Term -> frequency for one document, empty if the document is not indexed.
+     */
+    Map<String, Integer> getTermFrequencies(long key);
+}
@@ -0,0 +1,602 @@
+package com.aditya.Study.Tracker.service.data_structures;
+
+import com.aditya.Study.Tracker.data.models.StudyLog;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Append-only study log storage split into two tiers:
+ *  - a hot tier: the most recent logs, kept as objects on the heap, with their
+ *    descriptions in an in-memory {@link InvertedIndex}
+ *  - a cold tier: older logs sealed into immutable, memory-mapped segment files,
+ *    each carrying its own term dictionary and postings
+ * so the heap only grows with the hot tier and small per-segment metadata.
+ *
+ * Every log gets a sequence number (0, 1, 2, ...) that stays valid after it is
+ * moved to a segment, so callers can keep referring to logs by position.
+ * Each segment keeps small min/max date and subject metadata plus per-subject
+ * totals on the heap, which lets range queries skip whole segments and lets
+ * summaries avoid decoding them at all.
+ *
+ * Descriptions are searchable through {@link #getTextIndexes()}: the hot index and
+ * every segment, keyed by sequence number, to be searched together with
+ * {@link InvertedIndex#search(String, int, List, Collection)}.
+ *
+ * Segment file layout (big-endian):
+ *   int count | int subjectCount | int indexedCount | int termCount | int termTableStart |
+ *   subjects (int len + UTF-8) ... |
+ *   int[count] record offsets | records: int epochDay, double hours,
+ *   int subjectIndex, int descLen, UTF-8 description |
+ *   term table, sorted by term: termCount x (int nameOffset, int postingsOffset, int df) |
+ *   term names (int len + UTF-8) ... |
+ *   postings per term: df x (int record, int tf), highest tf first, then newest first
+ * A null subject is stored as subjectIndex -1 and a null description as descLen -1.
+ * `indexedCount` is the number of logs whose description has at least one term.
+ * The subject dictionary is read back from the file when the segment is opened.
+ *
+ * A segment holds at most `segmentSize` logs and MAX_SEGMENT_BYTES bytes; subjects and
+ * descriptions longer than MAX_TEXT_LENGTH are rejected, so any single log fits.
+ *
+ * Segment files are not reloaded after a restart. Each store writes into its own
+ * fresh subdirectory, so several processes can share one configured directory.
+ */
+public class TieredLogStore {
+
+    // Largest configurable segment size, and the byte size one sealed segment may reach
+    public static final int MAX_SEGMENT_SIZE = 1 << 20;
+    private static final long MAX_SEGMENT_BYTES = 256L << 20;
+
+    // Longest subject or description (in chars) a log may have
+    public static final int MAX_TEXT_LENGTH = 100_000;
+
+    private static final int HEADER_BYTES = 5 * Integer.BYTES;
+
+    // epochDay, hours, subjectIndex, descLen
+    private static final int RECORD_HEADER_BYTES = Integer.BYTES + Double.BYTES + Integer.BYTES + Integer.BYTES;
+
+    // nameOffset, postingsOffset, df
+    private static final int TERM_ENTRY_BYTES = 3 * Integer.BYTES;
+
+    // record, tf
+    private static final int POSTING_BYTES = 2 * Integer.BYTES;
+
+    // Every TERM_SAMPLE-th term of a segment's dictionary is kept on the heap to narrow lookups
+    private static final int TERM_SAMPLE = 32;
+
+    private static class Segment implements TextIndex {
+        final long firstSeq;
+        final int count;
+        final LocalDate minDate, maxDate;
+        final String minSubject, maxSubject;
+        final Map<String, Double> hoursBySubject;
+        final String[] subjects;
+        final MappedByteBuffer buffer;
+        final int offsetsStart;
+        final int indexedCount;
+        final int termCount;
+        final int termTableStart;
+        final String[] sampledTerms; // termAt(i * TERM_SAMPLE)
+
+        Segment(long firstSeq, MappedByteBuffer buffer, List<StudyLog> logs) {
+            this.firstSeq = firstSeq;
+            this.buffer = buffer;
+            this.count = buffer.getInt(0);
+            this.indexedCount = buffer.getInt(2 * Integer.BYTES);
+            this.termCount = buffer.getInt(3 * Integer.BYTES);
+            this.termTableStart = buffer.getInt(4 * Integer.BYTES);
+
+            // Subject dictionary from the file header
+            this.subjects = new String[buffer.getInt(Integer.BYTES)];
+            int pos = HEADER_BYTES;
+            for (int i = 0; i < subjects.length; i++) {
+                subjects[i] = readString(pos);
+                pos += Integer.BYTES + buffer.getInt(pos);
+            }
+            this.offsetsStart = pos;
+
+            this.sampledTerms = new String[(termCount + TERM_SAMPLE - 1) / TERM_SAMPLE];
+            for (int i = 0; i < sampledTerms.length; i++) sampledTerms[i] = termAt(i * TERM_SAMPLE);
+
+            LocalDate lo = null, hi = null;
+            Map<String, Double> totals = new HashMap<>();
+            for (StudyLog log : logs) {
+                if (lo == null || log.getDate().isBefore(lo)) lo = log.getDate();
+                if (hi == null || log.getDate().isAfter(hi)) hi = log.getDate();
+                totals.merge(log.getSubject(), log.getDurationHours(), Double::sum);
+            }
+            this.minDate = lo;
+            this.maxDate = hi;
+            this.hoursBySubject = totals;
+            this.minSubject = subjects.length == 0 ? null : subjects[0];
+            this.maxSubject = subjects.length == 0 ? null : subjects[subjects.length - 1];
+        }
+
+        boolean overlaps(LocalDate from, LocalDate to) {
+            return !maxDate.isBefore(from) && !minDate.isAfter(to);
+        }
+
+        boolean mayContain(String subject) {
+            if (subject == null || minSubject == null) return hoursBySubject.containsKey(subject);
+            return subject.compareTo(minSubject) >= 0 && subject.compareTo(maxSubject) <= 0
+                    && hoursBySubject.containsKey(subject);
+        }
+
+        StudyLog read(int i) {
+            int pos = buffer.getInt(offsetsStart + i * Integer.BYTES);
+            LocalDate date = LocalDate.ofEpochDay(buffer.getInt(pos));
+            double hours = buffer.getDouble(pos + 4);
+            int subjectIndex = buffer.getInt(pos + 12);
+            String subject = subjectIndex < 0 ? null : subjects[subjectIndex];
+            int len = buffer.getInt(pos + 16);
+            if (len < 0) return new StudyLog(date, subject, hours, null);
+            byte[] desc = new byte[len];
+            buffer.get(pos + RECORD_HEADER_BYTES, desc);
+            return new StudyLog(date, subject, hours, new String(desc, StandardCharsets.UTF_8));
+        }
+
+        // --- Text index over the segment's own term dictionary ---
+
+        private String readString(int pos) {
+            byte[] bytes = new byte[buffer.getInt(pos)];
+            buffer.get(pos + Integer.BYTES, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private String termAt(int i) {
+            return readString(buffer.getInt(termTableStart + i * TERM_ENTRY_BYTES));
+        }
+
+        // Index of `term` in the term table, or -(insertion point) - 1
+        private int findTerm(String term) {
+            // Last sample <= term picks the run of TERM_SAMPLE entries to search in the file
+            int lo = 0, hi = sampledTerms.length - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                int cmp = sampledTerms[mid].compareTo(term);
+                if (cmp < 0) lo = mid + 1;
+                else if (cmp > 0) hi = mid - 1;
+                else return mid * TERM_SAMPLE;
+            }
+            if (hi < 0) return -1;
+            lo = hi * TERM_SAMPLE + 1;
+            hi = Math.min(lo + TERM_SAMPLE - 2, termCount - 1);
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                int cmp = termAt(mid).compareTo(term);
+                if (cmp < 0) lo = mid + 1;
+                else if (cmp > 0) hi = mid - 1;
+                else return mid;
+            }
+            return -lo - 1;
+        }
+
+        @Override
+        public int size() {
+            return indexedCount;
+        }
+
+        @Override
+        public int getDocumentFrequency(String term) {
+            int i = findTerm(term);
+            return i < 0 ? 0 : buffer.getInt(termTableStart + i * TERM_ENTRY_BYTES + 2 * Integer.BYTES);
+        }
+
+        @Override
+        public List<String> getTermsWithPrefix(String prefix, int max) {
+            List<String> result = new ArrayList<>();
+            int i = findTerm(prefix);
+            for (i = i < 0 ? -i - 1 : i + 1; i < termCount && result.size() < max; i++) {
+                String term = termAt(i);
+                if (!term.startsWith(prefix)) break;
+                result.add(term);
+            }
+            return result;
+        }
+
+        @Override
+        public Postings getPostings(String term) {
+            int i = findTerm(term);
+            if (i < 0) return null;
+            int start = buffer.getInt(termTableStart + i * TERM_ENTRY_BYTES + Integer.BYTES);
+            int df = buffer.getInt(termTableStart + i * TERM_ENTRY_BYTES + 2 * Integer.BYTES);
+            return new Postings() {
+                private int next = 0;
+                private int record, tf;
+
+                @Override
+                public boolean advance() {
+                    if (next >= df) return false;
+                    int pos = start + next++ * POSTING_BYTES;
+                    record = buffer.getInt(pos);
+                    tf = buffer.getInt(pos + Integer.BYTES);
+                    return true;
+                }
+
+                @Override
+                public int size() {
+                    return df;
+                }
+
+                @Override
+                public int tf() {
+                    return tf;
+                }
+
+                @Override
+                public long key() {
+                    return firstSeq + record;
+                }
+            };
+        }
+
+        @Override
+        public Map<String, Integer> getTermFrequencies(long key) {
+            if (key < firstSeq || key >= firstSeq + count) return Collections.emptyMap();
+            return termFrequencies(read((int) (key - firstSeq)).getDescription());
+        }
+    }
+
+    // Postings of one term while a segment is being sealed: (tf << 32 | record), sorted at the end
+    private static class PendingTerm {
+        final byte[] name;
+        long[] postings = new long[4];
+        int size;
+
+        PendingTerm(String term) {
+            this.name = term.getBytes(StandardCharsets.UTF_8);
+        }
+
+        void add(int record, int tf) {
+            if (size == postings.length) postings = Arrays.copyOf(postings, size * 2);
+            postings[size++] = ((long) tf << 32) | record;
+        }
+    }
+
+    private final Path directory;
+    private final int hotCapacity;
+    private final int segmentSize;
+
+    private final List<Segment> segments = new ArrayList<>();
+    private final List<StudyLog> hot = new ArrayList<>();
+    private InvertedIndex hotIndex = new InvertedIndex(); // keyed by sequence number
+    private long hotBaseSeq = 0; // sequence number of hot.get(0)
+    private boolean closed = false;
+
+    /**
+     * @param directory   parent of this store's segment subdirectory; the system temp directory when null
+     * @param hotCapacity how many logs may stay on the heap before the oldest are sealed
+     * @param segmentSize how many logs go into one sealed segment, at most MAX_SEGMENT_SIZE
+     */
+    public TieredLogStore(Path directory, int hotCapacity, int segmentSize) {
+        if (hotCapacity < 1 || segmentSize < 1 || segmentSize > hotCapacity) {
+            throw new IllegalArgumentException("Require 1 <= segmentSize <= hotCapacity.");
+        }
+        if (segmentSize > MAX_SEGMENT_SIZE) {
+            throw new IllegalArgumentException("segmentSize must be at most " + MAX_SEGMENT_SIZE + ".");
+        }
+        try {
+            this.directory = directory == null
+                    ? Files.createTempDirectory("study-logs-")
+                    : Files.createTempDirectory(Files.createDirectories(directory), "study-logs-");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create log segment directory.", e);
+        }
+        this.hotCapacity = hotCapacity;
+        this.segmentSize = segmentSize;
+        this.directory.toFile().deleteOnExit();
+    }
+
+    /**
+     * Appends a log and returns its sequence number.
+     * The oldest logs are sealed first, so if sealing fails the log is not added
+     * (and sealing is tried again on the next append).
+     *
+     * @throws IllegalArgumentException if the subject or description is longer than MAX_TEXT_LENGTH
+     */
+    public long append(StudyLog log) {
+        if (closed) throw new IllegalStateException("Log store is closed.");
+        checkLength("Subject", log.getSubject());
+        checkLength("Description", log.getDescription());
+        int seq = Math.toIntExact(size()); // the hot index is keyed by int
+        if (hot.size() >= hotCapacity) {
+            seal();
+        }
+        hot.add(log);
+        hotIndex.add(seq, log.getDescription());
+        return seq;
+    }
+
+    public long size() {
+        return hotBaseSeq + hot.size();
+    }
+
+    /**
+     * Returns the log with the given sequence number.
+     */
+    public StudyLog get(long seq) {
+        if (seq < 0 || seq >= size()) throw new IndexOutOfBoundsException("No log with sequence " + seq);
+        if (seq >= hotBaseSeq) return hot.get((int) (seq - hotBaseSeq));
+        return readSealed(segments, seq);
+    }
+
+    private static StudyLog readSealed(List<Segment> segments, long seq) {
+        // Segments are contiguous and ordered by firstSeq -> binary search
+        int lo = 0, hi = segments.size() - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (segments.get(mid).firstSeq <= seq) lo = mid; else hi = mid - 1;
+        }
+        Segment s = segments.get(lo);
+        return s.read((int) (seq - s.firstSeq));
+    }
+
+    /**
+     * Read-only view of every log appended so far, oldest first. Taking it copies only
+     * the segment list and the hot tier; sealed logs are decoded when the view is read,
+     * so it can be read after releasing the lock that guards this store. Later appends
+     * (and {@link #close()}) do not affect it.
+     */
+    public List<StudyLog> view() {
+        List<Segment> sealed = List.copyOf(segments);
+        List<StudyLog> recent = new ArrayList<>(hot);
+        int sealedCount = Math.toIntExact(hotBaseSeq);
+        return new AbstractList<>() {
+            @Override
+            public StudyLog get(int i) {
+                Objects.checkIndex(i, size());
+                return i < sealedCount ? readSealed(sealed, i) : recent.get(i - sealedCount);
+            }
+
+            @Override
+            public int size() {
+                return sealedCount + recent.size();
+            }
+        };
+    }
+
+    /**
+     * Returns a snapshot of every log, oldest first, across both tiers.
+     */
+    public List<StudyLog> getAll() {
+        List<StudyLog> result = new ArrayList<>((int) size());
+        for (Segment s : segments) {
+            for (int i = 0; i < s.count; i++) result.add(s.read(i));
+        }
+        result.addAll(hot);
+        return result;
+    }
+
+    /**
+     * Returns logs dated within [from, to] (inclusive), oldest first.
+     * Segments whose date range does not overlap are skipped without being read.
+     */
+    public List<StudyLog> getBetween(LocalDate from, LocalDate to) {
+        List<StudyLog> result = new ArrayList<>();
+        for (Segment s : segments) {
+            if (!s.overlaps(from, to)) continue;
+            for (int i = 0; i < s.count; i++) {
+                StudyLog log = s.read(i);
+                if (!log.getDate().isBefore(from) && !log.getDate().isAfter(to)) result.add(log);
+            }
+        }
+        for (StudyLog log : hot) {
+            if (!log.getDate().isBefore(from) && !log.getDate().isAfter(to)) result.add(log);
+        }
+        return result;
+    }
+
+    /**
+     * Returns logs for one subject, oldest first, skipping segments that cannot contain it.
+     */
+    public List<StudyLog> getBySubject(String subject) {
+        List<StudyLog> result = new ArrayList<>();
+        for (Segment s : segments) {
+            if (!s.mayContain(subject)) continue;
+            for (int i = 0; i < s.count; i++) {
+                StudyLog log = s.read(i);
+                if (Objects.equals(log.getSubject(), subject)) result.add(log);
+            }
+        }
+        for (StudyLog log : hot) {
+            if (Objects.equals(log.getSubject(), subject)) result.add(log);
+        }
+        return result;
+    }
+
+    /**
+     * Total hours per subject. Sealed segments contribute their precomputed totals.
+     */
+    public Map<String, Double> getHoursBySubject() {
+        Map<String, Double> totals = new HashMap<>();
+        for (Segment s : segments) {
+            s.hoursBySubject.forEach((subject, hours) -> totals.merge(subject, hours, Double::sum));
+        }
+        for (StudyLog log : hot) {
+            totals.merge(log.getSubject(), log.getDurationHours(), Double::sum);
+        }
+        return totals;
+    }
+
+    /**
+     * Text indexes over the descriptions of all logs, keyed by sequence number:
+     * one per sealed segment plus the hot tier's. Valid until the next append.
+     */
+    public List<TextIndex> getTextIndexes() {
+        List<TextIndex> indexes = new ArrayList<>(segments);
+        indexes.add(hotIndex);
+        return indexes;
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Drops every log and deletes this store's segment files and directory; appends
+     * fail afterwards. Segment mappings are released once no {@link #view()} refers to
+     * them any more. Files that cannot be deleted now are left to the delete-on-exit hook.
+     */
+    public void close() {
+        closed = true;
+        segments.clear();
+        hot.clear();
+        hotIndex = new InvertedIndex();
+        hotBaseSeq = 0;
+        File[] files = directory.toFile().listFiles();
+        if (files != null) {
+            for (File file : files) file.delete();
+        }
+        directory.toFile().delete();
+    }
+
+    // --- Sealing ---
+
+    private static void checkLength(String what, String text) {
+        if (text != null && text.length() > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException(what + " is longer than " + MAX_TEXT_LENGTH + " characters.");
+        }
+    }
+
+    private static Map<String, Integer> termFrequencies(String text) {
+        Map<String, Integer> tf = new HashMap<>();
+        for (String token : InvertedIndex.tokenize(text)) tf.merge(token, 1, Integer::sum);
+        return tf;
+    }
+
+    // Seals the oldest hot logs: `segmentSize` of them, or fewer if the segment would
+    // grow past MAX_SEGMENT_BYTES (always at least one, which fits by MAX_TEXT_LENGTH).
+    private void seal() {
+        List<StudyLog> logs = new ArrayList<>();
+        List<byte[]> descBytes = new ArrayList<>();
+        Map<String, byte[]> subjectBytes = new TreeMap<>(); // sorted, so min/max are the ends (null is not in it)
+        TreeMap<String, PendingTerm> terms = new TreeMap<>();
+        int indexedCount = 0;
+        long size = HEADER_BYTES;
+        for (StudyLog log : hot.subList(0, segmentSize)) {
+            byte[] desc = log.getDescription() == null ? null : log.getDescription().getBytes(StandardCharsets.UTF_8);
+            byte[] subject = log.getSubject() == null || subjectBytes.containsKey(log.getSubject())
+                    ? null : log.getSubject().getBytes(StandardCharsets.UTF_8);
+            Map<String, Integer> tf = termFrequencies(log.getDescription());
+
+            long cost = Integer.BYTES + RECORD_HEADER_BYTES + length(desc)
+                    + (subject == null ? 0 : Integer.BYTES + subject.length);
+            for (String term : tf.keySet()) {
+                cost += POSTING_BYTES;
+                if (!terms.containsKey(term)) {
+                    cost += TERM_ENTRY_BYTES + Integer.BYTES + term.getBytes(StandardCharsets.UTF_8).length;
+                }
+            }
+            if (!logs.isEmpty() && size + cost > MAX_SEGMENT_BYTES) break;
+
+            size += cost;
+            int record = logs.size();
+            logs.add(log);
+            descBytes.add(desc);
+            if (subject != null) subjectBytes.put(log.getSubject(), subject);
+            if (!tf.isEmpty()) indexedCount++;
+            tf.forEach((term, f) -> terms.computeIfAbsent(term, PendingTerm::new).add(record, f));
+        }
+
+        Map<String, Integer> subjectIds = new HashMap<>();
+        for (String subject : subjectBytes.keySet()) subjectIds.put(subject, subjectIds.size());
+
+        ByteBuffer buf = ByteBuffer.allocate((int) size);
+        buf.position(HEADER_BYTES);
+        for (byte[] b : subjectBytes.values()) {
+            buf.putInt(b.length);
+            buf.put(b);
+        }
+
+        int offsetsStart = buf.position();
+        int pos = offsetsStart + logs.size() * Integer.BYTES;
+        for (int i = 0; i < logs.size(); i++) {
+            buf.putInt(pos);
+            pos += RECORD_HEADER_BYTES + length(descBytes.get(i));
+        }
+        for (int i = 0; i < logs.size(); i++) {
+            StudyLog log = logs.get(i);
+            buf.putInt((int) log.getDate().toEpochDay());
+            buf.putDouble(log.getDurationHours());
+            buf.putInt(log.getSubject() == null ? -1 : subjectIds.get(log.getSubject()));
+            byte[] desc = descBytes.get(i);
+            if (desc == null) {
+                buf.putInt(-1);
+            } else {
+                buf.putInt(desc.length);
+                buf.put(desc);
+            }
+        }
+
+        // Term table, then names, then postings (impact order: tf desc, then newest first)
+        int termTableStart = buf.position();
+        int namePos = termTableStart + terms.size() * TERM_ENTRY_BYTES;
+        int postingsPos = namePos;
+        for (PendingTerm term : terms.values()) postingsPos += Integer.BYTES + term.name.length;
+        for (PendingTerm term : terms.values()) {
+            buf.putInt(namePos);
+            buf.putInt(postingsPos);
+            buf.putInt(term.size);
+            namePos += Integer.BYTES + term.name.length;
+            postingsPos += term.size * POSTING_BYTES;
+        }
+        for (PendingTerm term : terms.values()) {
+            buf.putInt(term.name.length);
+            buf.put(term.name);
+        }
+        for (PendingTerm term : terms.values()) {
+            long[] postings = Arrays.copyOf(term.postings, term.size);
+            Arrays.sort(postings);
+            for (int i = postings.length - 1; i >= 0; i--) {
+                buf.putInt((int) postings[i]);
+                buf.putInt((int) (postings[i] >>> 32));
+            }
+        }
+
+        buf.putInt(0, logs.size());
+        buf.putInt(Integer.BYTES, subjectBytes.size());
+        buf.putInt(2 * Integer.BYTES, indexedCount);
+        buf.putInt(3 * Integer.BYTES, terms.size());
+        buf.putInt(4 * Integer.BYTES, termTableStart);
+        buf.flip();
+
+        Path file = directory.resolve(String.format("segment-%012d.log", hotBaseSeq));
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            while (buf.hasRemaining()) ch.write(buf);
+            MappedByteBuffer mapped = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            segments.add(new Segment(hotBaseSeq, mapped, logs));
+        } catch (IOException e) {
+            // Remove the partial file so the next append can retry under the same name
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw new UncheckedIOException("Cannot write log segment " + file, e);
+        }
+        file.toFile().deleteOnExit();
+
+        for (int i = 0; i < logs.size(); i++) hotIndex.remove((int) (hotBaseSeq + i));
+        hot.subList(0, logs.size()).clear();
+        hotBaseSeq += logs.size();
+    }
+
+    private static int length(byte[] bytes) {
+        return bytes == null ? 0 : bytes.length;
+    }
+}
@@ -1,5 +1,7 @@
 package com.aditya.Study.Tracker.service.data_structures;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Stack;
 
 public class UndoRedoManager {
@@ -25,4 +27,23 @@ public class UndoRedoManager {
         undoStack.push(a);
         return a;
     }
+
+    // History copies, oldest first (used for replica snapshots)
+    public synchronized List<Action> getUndoHistory() {
+        return new ArrayList<>(undoStack);
+    }
+
+    public synchronized List<Action> getRedoHistory() {
+        return new ArrayList<>(redoStack);
+    }
+
+    /**
+     * Replaces both stacks; each list is oldest first.
+     */
+    public synchronized void restore(List<Action> undoHistory, List<Action> redoHistory) {
+        undoStack.clear();
+        undoStack.addAll(undoHistory);
+        redoStack.clear();
+        redoStack.addAll(redoHistory);
+    }
 }
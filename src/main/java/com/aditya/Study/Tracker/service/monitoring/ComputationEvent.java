@@ -0,0 +1,44 @@
+package com.aditya.Study.Tracker.service.monitoring;
+
+import jdk.jfr.*;
+
+/**
+ * JFR event for an algorithmic step inside a service operation
+ * (topological sort, interval tree insert, task sort, plan generation).
+ * Nested inside the enclosing {@link ServiceOperationEvent} on the same thread.
+ */
+@Name("com.aditya.studytracker.Computation")
+@Label("Study Tracker Computation")
+@Category({ "Study Tracker", "Computation" })
+@Description("Time spent in a scheduling or graph computation, with input and result sizes")
+@StackTrace(false)
+public class ComputationEvent extends Event {
+
+    @Label("Computation")
+    String computation;
+
+    @Label("Input Size")
+    int inputSize;
+
+    @Label("Result Size")
+    int resultSize;
+
+    private ComputationEvent(String computation) {
+        this.computation = computation;
+    }
+
+    public static ComputationEvent begin(String computation) {
+        ComputationEvent event = new ComputationEvent(computation);
+        event.begin();
+        return event;
+    }
+
+    public void finish(int inputSize, int resultSize) {
+        end();
+        if (shouldCommit()) {
+            this.inputSize = inputSize;
+            this.resultSize = resultSize;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.aditya.Study.Tracker.service.monitoring;
+
+import jdk.jfr.*;
+
+/**
+ * JFR event for one StudyTrackerService call. Duration covers lock wait plus work;
+ * lock wait is also reported on its own. Queue, graph and log sizes are the ones the
+ * operation started from, captured once the lock is held. Operations that throw are
+ * recorded too, with the exception type as their failure. When no recording has this
+ * event enabled, begin does almost nothing (no clock reads) and callers are expected to
+ * skip lockAcquired and record (no size gathering).
+ */
+@Name("com.aditya.studytracker.ServiceOperation")
+@Label("Study Tracker Operation")
+@Category({ "Study Tracker", "Service" })
+@Description("A StudyTrackerService call with input sizes, lock wait time and result size")
+@StackTrace(false)
+public class ServiceOperationEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Lock Wait")
+    @Timespan(Timespan.NANOSECONDS)
+    long lockWait;
+
+    @Label("Queue Size")
+    int queueSize;
+
+    @Label("Subjects")
+    int graphVertices;
+
+    @Label("Dependencies")
+    int graphEdges;
+
+    @Label("Log Count")
+    long logCount;
+
+    @Label("Result Size")
+    int resultSize;
+
+    @Label("Failure")
+    @Description("Exception type thrown by the operation, empty if it succeeded")
+    String failure;
+
+    private transient long waitStart;
+
+    private ServiceOperationEvent(String operation) {
+        this.operation = operation;
+    }
+
+    /**
+     * Starts timing an operation; call before trying to take the service lock.
+     */
+    public static ServiceOperationEvent begin(String operation) {
+        ServiceOperationEvent event = new ServiceOperationEvent(operation);
+        if (event.isEnabled()) {
+            event.begin();
+            event.waitStart = System.nanoTime();
+        }
+        return event;
+    }
+
+    /**
+     * Call right after the service lock is acquired, only if {@link #isEnabled()},
+     * with the state sizes before the operation runs.
+     */
+    public void lockAcquired(int queueSize, int graphVertices, int graphEdges, long logCount) {
+        lockWait = System.nanoTime() - waitStart;
+        this.queueSize = queueSize;
+        this.graphVertices = graphVertices;
+        this.graphEdges = graphEdges;
+        this.logCount = logCount;
+    }
+
+    /**
+     * Call when the operation throws, before it is committed.
+     */
+    public void failed(Throwable error) {
+        failure = error.getClass().getName();
+    }
+
+    /**
+     * Fills in the result size and commits. Callers should check {@link #shouldCommit()}
+     * after {@link #end()} first, so the result is only measured for recorded events.
+     */
+    public void record(int resultSize) {
+        this.resultSize = resultSize;
+        commit();
+    }
+}
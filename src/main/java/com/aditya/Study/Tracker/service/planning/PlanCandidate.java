@@ -0,0 +1,36 @@
+package com.aditya.Study.Tracker.service.planning;
+
+import java.util.*;
+
+/**
+ * One alternative weekly plan configuration to evaluate in a what-if comparison.
+ */
+public class PlanCandidate {
+    private final String name;
+    private final int slotsPerDay;
+    private final double slotHours;
+    private final Map<String, Double> subjectWeights;
+    private final Set<Integer> excludedTaskIds;
+
+    /**
+     * @param subjectWeights  multiplier applied to the priority of every task of that subject (default 1.0)
+     * @param excludedTaskIds tasks to leave out of the plan entirely
+     */
+    public PlanCandidate(String name, int slotsPerDay, double slotHours,
+                         Map<String, Double> subjectWeights, Set<Integer> excludedTaskIds) {
+        if (slotsPerDay <= 0 || slotHours <= 0) {
+            throw new IllegalArgumentException("slotsPerDay and slotHours must be positive.");
+        }
+        this.name = name;
+        this.slotsPerDay = slotsPerDay;
+        this.slotHours = slotHours;
+        this.subjectWeights = Map.copyOf(subjectWeights);
+        this.excludedTaskIds = Set.copyOf(excludedTaskIds);
+    }
+
+    public String getName() { return name; }
+    public int getSlotsPerDay() { return slotsPerDay; }
+    public double getSlotHours() { return slotHours; }
+    public Map<String, Double> getSubjectWeights() { return subjectWeights; }
+    public Set<Integer> getExcludedTaskIds() { return excludedTaskIds; }
+}
@@ -0,0 +1,37 @@
+package com.aditya.Study.Tracker.service.planning;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Score and metrics of one evaluated {@link PlanCandidate}. Lower score is better.
+ */
+public class PlanEvaluation {
+    private final String name;
+    private final double score;
+    private final int deadlineMisses;
+    private final int dependencyViolations;
+    private final double subjectImbalance;
+    private final double idleHours;
+    private final Map<String, List<Map<String, Object>>> plan;
+
+    public PlanEvaluation(String name, double score, int deadlineMisses, int dependencyViolations,
+                          double subjectImbalance, double idleHours,
+                          Map<String, List<Map<String, Object>>> plan) {
+        this.name = name;
+        this.score = score;
+        this.deadlineMisses = deadlineMisses;
+        this.dependencyViolations = dependencyViolations;
+        this.subjectImbalance = subjectImbalance;
+        this.idleHours = idleHours;
+        this.plan = plan;
+    }
+
+    public String getName() { return name; }
+    public double getScore() { return score; }
+    public int getDeadlineMisses() { return deadlineMisses; }
+    public int getDependencyViolations() { return dependencyViolations; }
+    public double getSubjectImbalance() { return subjectImbalance; }
+    public double getIdleHours() { return idleHours; }
+    public Map<String, List<Map<String, Object>>> getPlan() { return plan; }
+}
@@ -0,0 +1,41 @@
+package com.aditya.Study.Tracker.service.planning;
+
+import com.aditya.Study.Tracker.data.models.Task;
+import com.aditya.Study.Tracker.data.models.TimeInterval;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Immutable copy of the state a weekly plan depends on: open tasks, unavailable
+ * time blocks and subject prerequisites. Taken under the service lock, then read
+ * freely by parallel plan evaluations.
+ */
+public class PlanSnapshot {
+    private final List<Task> tasks;
+    private final List<TimeInterval> blocks;
+    private final Map<String, List<String>> prerequisites;
+    private final Set<String> completedSubjects;
+    private final LocalDate weekStart;
+
+    /**
+     * @param prerequisites transitive prerequisites per subject
+     * @param weekStart     first of the seven planned days (today, when taken by the service)
+     */
+    public PlanSnapshot(List<Task> tasks, List<TimeInterval> blocks, Map<String, List<String>> prerequisites,
+                        Set<String> completedSubjects, LocalDate weekStart) {
+        this.tasks = List.copyOf(tasks);
+        this.blocks = List.copyOf(blocks);
+        Map<String, List<String>> prereqCopy = new HashMap<>();
+        prerequisites.forEach((subject, list) -> prereqCopy.put(subject, List.copyOf(list)));
+        this.prerequisites = Collections.unmodifiableMap(prereqCopy);
+        this.completedSubjects = Set.copyOf(completedSubjects);
+        this.weekStart = weekStart;
+    }
+
+    public List<Task> getTasks() { return tasks; }
+    public List<TimeInterval> getBlocks() { return blocks; }
+    public Map<String, List<String>> getPrerequisites() { return prerequisites; }
+    public Set<String> getCompletedSubjects() { return completedSubjects; }
+    public LocalDate getWeekStart() { return weekStart; }
+}
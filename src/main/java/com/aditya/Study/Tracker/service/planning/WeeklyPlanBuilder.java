@@ -0,0 +1,84 @@
+package com.aditya.Study.Tracker.service.planning;
+
+import com.aditya.Study.Tracker.data.models.Task;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Builds a weekly timetable (Mon-Sun, or seven dated days) from an already ordered task list.
+ * Pure function of its inputs, so it can run outside the service lock.
+ */
+public final class WeeklyPlanBuilder {
+
+    // Days order: Monday -> Sunday
+    public static final String[] DAYS = { "Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday", "Sunday" };
+
+    private WeeklyPlanBuilder() {}
+
+    /**
+     * Fills each day's slots sequentially from `sortedTasks` (cyclically) so top tasks
+     * are scheduled earlier in the week and repeated if necessary.
+     *
+     * Return format:
+     *   Map<String, List<Map<String,Object>>> where key is day name (e.g., "Monday")
+     *   and each list item is a map: { "slot": 1, "taskId": int, "title": string, "subject": string }
+     */
+    public static Map<String, List<Map<String, Object>>> build(List<Task> sortedTasks, int slotsPerDay) {
+        int[] slots = new int[DAYS.length];
+        Arrays.fill(slots, slotsPerDay);
+        return build(sortedTasks, slots);
+    }
+
+    /**
+     * Same as {@link #build(List, int)}, with a separate slot count per day (index 0 = Monday).
+     */
+    public static Map<String, List<Map<String, Object>>> build(List<Task> sortedTasks, int[] slotsPerDay) {
+        return build(sortedTasks, DAYS, slotsPerDay);
+    }
+
+    /**
+     * Same as {@link #build(List, int[])} for the seven days starting at `firstDay`,
+     * keyed by ISO date (e.g. "2024-05-16") instead of day name.
+     */
+    public static Map<String, List<Map<String, Object>>> build(List<Task> sortedTasks, LocalDate firstDay,
+                                                               int[] slotsPerDay) {
+        String[] dates = new String[DAYS.length];
+        for (int d = 0; d < dates.length; d++) dates[d] = firstDay.plusDays(d).toString();
+        return build(sortedTasks, dates, slotsPerDay);
+    }
+
+    private static Map<String, List<Map<String, Object>>> build(List<Task> sortedTasks, String[] days,
+                                                                int[] slotsPerDay) {
+        Map<String, List<Map<String, Object>>> weekPlan = new LinkedHashMap<>();
+
+        if (sortedTasks.isEmpty()) {
+            // return empty plan structure
+            for (String day : days) weekPlan.put(day, new ArrayList<>());
+            return weekPlan;
+        }
+
+        // We will cycle through sortedTasks to fill slots across days to give high-priority tasks
+        // earlier positions but allow repetition across days if there are fewer tasks than slots/day*7.
+        int index = 0;
+        int n = sortedTasks.size();
+
+        for (int d = 0; d < days.length; d++) {
+            List<Map<String, Object>> daySlots = new ArrayList<>();
+            for (int slot = 1; slot <= slotsPerDay[d]; slot++) {
+                Task t = sortedTasks.get(index % n);
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("slot", slot);
+                entry.put("taskId", t.getTaskId());
+                entry.put("title", t.getTitle());
+                entry.put("subject", t.getSubject());
+                // Optional: approximate times can be added by frontend; keep simple here
+                daySlots.add(entry);
+                index++;
+            }
+            weekPlan.put(days[d], daySlots);
+        }
+
+        return weekPlan;
+    }
+}
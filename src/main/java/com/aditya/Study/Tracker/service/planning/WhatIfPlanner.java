@@ -0,0 +1,193 @@
+package com.aditya.Study.Tracker.service.planning;
+
+import com.aditya.Study.Tracker.data.models.Task;
+import com.aditya.Study.Tracker.data.models.TimeInterval;
+import com.aditya.Study.Tracker.service.monitoring.ComputationEvent;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Evaluates alternative weekly plans against one {@link PlanSnapshot} in parallel
+ * on a fork-join pool and ranks them. Nothing here touches live service state.
+ *
+ * Plans cover the seven days starting at the snapshot's weekStart, keyed by date.
+ * Each candidate is scored on (lower is better):
+ *  - deadline misses        : open tasks due within those days not scheduled on or before their deadline
+ *  - dependency violations  : a subject scheduled before one of its unfinished prerequisites
+ *  - subject imbalance      : coefficient of variation of slots per subject
+ *  - idle hours             : free study-window hours left unused
+ */
+public class WhatIfPlanner {
+
+    // Daily study window; unavailable blocks inside it reduce capacity
+    private static final LocalTime DAY_START = LocalTime.of(8, 0);
+    private static final LocalTime DAY_END = LocalTime.of(22, 0);
+
+    private static final double DEADLINE_MISS_WEIGHT = 10.0;
+    private static final double DEPENDENCY_VIOLATION_WEIGHT = 5.0;
+    private static final double IMBALANCE_WEIGHT = 4.0;
+    private static final double IDLE_HOUR_WEIGHT = 0.25;
+
+    private final ForkJoinPool pool;
+
+    public WhatIfPlanner(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Evaluates every candidate and returns them best first (ties keep input order).
+     */
+    public List<PlanEvaluation> compare(PlanSnapshot snapshot, List<PlanCandidate> candidates) {
+        PlanEvaluation[] results = new PlanEvaluation[candidates.size()];
+        if (!candidates.isEmpty()) {
+            pool.invoke(new EvaluateAction(snapshot, candidates, results, 0, candidates.size()));
+        }
+
+        List<PlanEvaluation> ranked = new ArrayList<>(Arrays.asList(results));
+        ranked.sort(Comparator.comparingDouble(PlanEvaluation::getScore));
+        return ranked;
+    }
+
+    // Splits the candidate range in halves until one candidate per leaf
+    private static class EvaluateAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final PlanSnapshot snapshot;
+        private final List<PlanCandidate> candidates;
+        private final PlanEvaluation[] results;
+        private final int lo, hi;
+
+        EvaluateAction(PlanSnapshot snapshot, List<PlanCandidate> candidates, PlanEvaluation[] results, int lo, int hi) {
+            this.snapshot = snapshot;
+            this.candidates = candidates;
+            this.results = results;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo == 1) {
+                ComputationEvent event = ComputationEvent.begin("evaluatePlan");
+                results[lo] = evaluate(snapshot, candidates.get(lo));
+                event.finish(snapshot.getTasks().size(), 1);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new EvaluateAction(snapshot, candidates, results, lo, mid),
+                      new EvaluateAction(snapshot, candidates, results, mid, hi));
+        }
+    }
+
+    static PlanEvaluation evaluate(PlanSnapshot snapshot, PlanCandidate candidate) {
+        // 1. Order the remaining tasks by weighted priority (highest first)
+        List<Task> tasks = new ArrayList<>();
+        for (Task t : snapshot.getTasks()) {
+            if (!candidate.getExcludedTaskIds().contains(t.getTaskId())) tasks.add(t);
+        }
+        tasks.sort(Comparator.comparingDouble((Task t) -> -weightedPriority(t, candidate))
+                .thenComparingInt(Task::getTaskId));
+
+        // 2. Cap slots per day by the free hours left around unavailable blocks
+        double freeHours = freeHoursPerDay(snapshot.getBlocks());
+        int usableSlots = Math.min(candidate.getSlotsPerDay(), (int) Math.floor(freeHours / candidate.getSlotHours()));
+        int[] slots = new int[WeeklyPlanBuilder.DAYS.length];
+        Arrays.fill(slots, usableSlots);
+        var plan = WeeklyPlanBuilder.build(tasks, snapshot.getWeekStart(), slots);
+        double idleHours = tasks.isEmpty()
+                ? freeHours * slots.length
+                : (freeHours - usableSlots * candidate.getSlotHours()) * slots.length;
+
+        // 3. First day and global position at which each task / subject appears
+        Map<Integer, Integer> firstDayByTask = new HashMap<>();
+        Map<String, Integer> firstPositionBySubject = new HashMap<>();
+        Map<String, Integer> slotsBySubject = new HashMap<>();
+        int position = 0, d = 0;
+        for (List<Map<String, Object>> day : plan.values()) {
+            for (Map<String, Object> entry : day) {
+                String subject = (String) entry.get("subject");
+                firstDayByTask.putIfAbsent((Integer) entry.get("taskId"), d);
+                firstPositionBySubject.putIfAbsent(subject, position++);
+                slotsBySubject.merge(subject, 1, Integer::sum);
+            }
+            d++;
+        }
+
+        int deadlineMisses = countDeadlineMisses(snapshot, firstDayByTask);
+        int dependencyViolations = countDependencyViolations(snapshot, firstPositionBySubject);
+        double imbalance = subjectImbalance(tasks, slotsBySubject);
+
+        double score = DEADLINE_MISS_WEIGHT * deadlineMisses
+                + DEPENDENCY_VIOLATION_WEIGHT * dependencyViolations
+                + IMBALANCE_WEIGHT * imbalance
+                + IDLE_HOUR_WEIGHT * idleHours;
+
+        return new PlanEvaluation(candidate.getName(), score, deadlineMisses, dependencyViolations,
+                imbalance, idleHours, plan);
+    }
+
+    private static double weightedPriority(Task t, PlanCandidate candidate) {
+        return t.getPriorityScore() * candidate.getSubjectWeights().getOrDefault(t.getSubject(), 1.0);
+    }
+
+    private static double freeHoursPerDay(List<TimeInterval> blocks) {
+        // Blocks never overlap (the interval tree rejects conflicts), so overlaps can be summed
+        long freeMinutes = Duration.between(DAY_START, DAY_END).toMinutes();
+        for (TimeInterval b : blocks) {
+            LocalTime start = b.getStart().isAfter(DAY_START) ? b.getStart() : DAY_START;
+            LocalTime end = b.getEnd().isBefore(DAY_END) ? b.getEnd() : DAY_END;
+            if (start.isBefore(end)) freeMinutes -= Duration.between(start, end).toMinutes();
+        }
+        return freeMinutes / 60.0;
+    }
+
+    // Excluded tasks count as well: dropping a task due within the plan misses its deadline.
+    private static int countDeadlineMisses(PlanSnapshot snapshot, Map<Integer, Integer> firstDayByTask) {
+        LocalDate weekEnd = snapshot.getWeekStart().plusDays(WeeklyPlanBuilder.DAYS.length - 1);
+        int misses = 0;
+        for (Task t : snapshot.getTasks()) {
+            Integer day = firstDayByTask.get(t.getTaskId());
+            if (day == null) {
+                if (!t.getDeadline().isAfter(weekEnd)) misses++;
+            } else if (snapshot.getWeekStart().plusDays(day).isAfter(t.getDeadline())) {
+                misses++;
+            }
+        }
+        return misses;
+    }
+
+    private static int countDependencyViolations(PlanSnapshot snapshot, Map<String, Integer> firstPositionBySubject) {
+        int violations = 0;
+        for (Map.Entry<String, Integer> e : firstPositionBySubject.entrySet()) {
+            for (String prereq : snapshot.getPrerequisites().getOrDefault(e.getKey(), List.of())) {
+                if (snapshot.getCompletedSubjects().contains(prereq)) continue;
+                Integer prereqPosition = firstPositionBySubject.get(prereq);
+                if (prereqPosition != null && prereqPosition > e.getValue()) violations++;
+            }
+        }
+        return violations;
+    }
+
+    private static double subjectImbalance(List<Task> tasks, Map<String, Integer> slotsBySubject) {
+        Set<String> subjects = new HashSet<>();
+        for (Task t : tasks) subjects.add(t.getSubject());
+        if (subjects.size() < 2) return 0.0;
+
+        double mean = 0;
+        for (String s : subjects) mean += slotsBySubject.getOrDefault(s, 0);
+        mean /= subjects.size();
+        if (mean == 0) return 0.0;
+
+        double variance = 0;
+        for (String s : subjects) {
+            double diff = slotsBySubject.getOrDefault(s, 0) - mean;
+            variance += diff * diff;
+        }
+        return Math.sqrt(variance / subjects.size()) / mean;
+    }
+}
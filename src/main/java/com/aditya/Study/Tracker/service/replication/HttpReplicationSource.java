@@ -0,0 +1,52 @@
+package com.aditya.Study.Tracker.service.replication;
+
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.util.Map;
+
+/**
+ * Reads a primary's replication endpoints over HTTP. Both timeouts are bounded, so a
+ * primary that stops answering fails the poll instead of hanging the follower thread.
+ */
+public class HttpReplicationSource implements ReplicationSource {
+
+    private final RestClient client;
+
+    /**
+     * @param connectTimeoutMs how long to wait for a connection to the primary
+     * @param readTimeoutMs    how long to wait for response data (a snapshot can be large)
+     */
+    public HttpReplicationSource(String primaryUrl, int connectTimeoutMs, int readTimeoutMs) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeoutMs);
+        requestFactory.setReadTimeout(readTimeoutMs);
+        this.client = RestClient.builder()
+                .baseUrl(primaryUrl)
+                .requestFactory(requestFactory)
+                .build();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public MutationBatch fetchLog(long afterSeq, int limit) {
+        Map<String, Object> body = client.get()
+                .uri("/api/v1/replication/log?after={after}&limit={limit}", afterSeq, limit)
+                .retrieve()
+                .body(Map.class);
+        if (body == null) throw new RestClientException("Empty replication log response.");
+        return MutationBatch.fromJson(body);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public StateSnapshot fetchSnapshot() {
+        Map<String, Object> body = client.get()
+                .uri("/api/v1/replication/snapshot")
+                .retrieve()
+                .body(Map.class);
+        if (body == null) throw new RestClientException("Empty replication snapshot response.");
+        return StateSnapshot.fromJson(body);
+    }
+}
@@ -0,0 +1,93 @@
+package com.aditya.Study.Tracker.service.replication;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * One entry of the primary's ordered mutation log.
+ *
+ * Every value a write depends on (task ids, dates, ...) is resolved on the primary
+ * and stored in `data`, so a follower replaying the log in `seq` order ends up
+ * with exactly the same state. Values are kept JSON-friendly (dates as ISO strings).
+ *
+ * `epoch` identifies the log the entry belongs to. A primary starts a new epoch on
+ * every start (its state is in memory only), so sequence numbers from different
+ * epochs must never be mixed.
+ */
+public class Mutation {
+
+    public enum Type {
+        TASK_ADDED, TASK_COMPLETED, LOG_INSERTED, DEPENDENCY_ADDED, SUBJECT_COMPLETED, BLOCK_ADDED, UNDO, REDO
+    }
+
+    private final String epoch;
+    private final long seq;
+    private final long timestamp; // epoch millis on the primary
+    private final Type type;
+    private final Map<String, Object> data;
+
+    public Mutation(String epoch, long seq, long timestamp, Type type, Map<String, Object> data) {
+        this.epoch = epoch;
+        this.seq = seq;
+        this.timestamp = timestamp;
+        this.type = type;
+        this.data = Collections.unmodifiableMap(new LinkedHashMap<>(data));
+    }
+
+    public String getEpoch() { return epoch; }
+    public long getSeq() { return seq; }
+    public long getTimestamp() { return timestamp; }
+    public Type getType() { return type; }
+    public Map<String, Object> getData() { return data; }
+
+    /**
+     * Builds a data map from alternating keys and values (null values allowed).
+     */
+    public static Map<String, Object> data(Object... keyValues) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            Object value = keyValues[i + 1];
+            if (value instanceof LocalDate || value instanceof LocalTime) value = value.toString();
+            map.put((String) keyValues[i], value);
+        }
+        return map;
+    }
+
+    /**
+     * Rebuilds a mutation from its JSON form (as returned by the log endpoint).
+     */
+    @SuppressWarnings("unchecked")
+    public static Mutation fromJson(Map<String, Object> json) {
+        return new Mutation(
+                (String) json.get("epoch"),
+                ((Number) json.get("seq")).longValue(),
+                ((Number) json.get("timestamp")).longValue(),
+                Type.valueOf((String) json.get("type")),
+                (Map<String, Object>) json.getOrDefault("data", Map.of())
+        );
+    }
+
+    // --- Typed accessors for replay ---
+
+    public String getString(String key) {
+        Object v = data.get(key);
+        return v == null ? null : v.toString();
+    }
+
+    public int getInt(String key) {
+        return ((Number) data.get(key)).intValue();
+    }
+
+    public double getDouble(String key) {
+        return ((Number) data.get(key)).doubleValue();
+    }
+
+    public LocalDate getDate(String key) {
+        return LocalDate.parse(getString(key));
+    }
+
+    public LocalTime getTime(String key) {
+        return LocalTime.parse(getString(key));
+    }
+}
@@ -0,0 +1,46 @@
+package com.aditya.Study.Tracker.service.replication;
+
+import java.util.*;
+
+/**
+ * One page of the mutation log, as served to followers. Read under a single
+ * service lock, so `epoch`, `lastSeq` and `mutations` are consistent.
+ *
+ * `truncated` means entries right after the requested seq were already dropped
+ * (see {@link MutationLog}); the follower has to bootstrap from a snapshot.
+ */
+public class MutationBatch {
+    private final String epoch;
+    private final long lastSeq;
+    private final boolean truncated;
+    private final List<Mutation> mutations;
+
+    public MutationBatch(String epoch, long lastSeq, boolean truncated, List<Mutation> mutations) {
+        this.epoch = epoch;
+        this.lastSeq = lastSeq;
+        this.truncated = truncated;
+        this.mutations = List.copyOf(mutations);
+    }
+
+    public String getEpoch() { return epoch; }
+    public long getLastSeq() { return lastSeq; }
+    public boolean isTruncated() { return truncated; }
+    public List<Mutation> getMutations() { return mutations; }
+
+    /**
+     * Rebuilds a batch from its JSON form (as returned by the log endpoint).
+     */
+    @SuppressWarnings("unchecked")
+    public static MutationBatch fromJson(Map<String, Object> json) {
+        List<Mutation> mutations = new ArrayList<>();
+        for (Map<String, Object> m : (List<Map<String, Object>>) json.getOrDefault("mutations", List.of())) {
+            mutations.add(Mutation.fromJson(m));
+        }
+        return new MutationBatch(
+                (String) json.get("epoch"),
+                ((Number) json.get("lastSeq")).longValue(),
+                Boolean.TRUE.equals(json.get("truncated")),
+                mutations
+        );
+    }
+}
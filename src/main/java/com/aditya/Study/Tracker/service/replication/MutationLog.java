@@ -0,0 +1,97 @@
+package com.aditya.Study.Tracker.service.replication;
+
+import java.util.*;
+
+/**
+ * Ordered, append-only list of {@link Mutation}s. Sequence numbers start at 1 and
+ * have no gaps, so reading "everything after seq N" is a direct index into the list.
+ * Not thread-safe on its own; the service appends and reads under its lock.
+ *
+ * Only the newest entries are kept: at least `retention` of them and at most twice
+ * that (old entries are dropped in batches). A follower that is further behind than
+ * that bootstraps from a {@link StateSnapshot} instead.
+ */
+public class MutationLog {
+
+    private final int retention;
+    private final List<Mutation> entries = new ArrayList<>();
+    private String epoch;
+    private long lastSeq;
+
+    /**
+     * Starts a new, empty log with a fresh epoch.
+     */
+    public MutationLog(int retention) {
+        if (retention < 1) throw new IllegalArgumentException("Retention must be at least 1.");
+        this.retention = retention;
+        this.epoch = UUID.randomUUID().toString();
+        this.lastSeq = 0;
+    }
+
+    /**
+     * Appends a new mutation with the next sequence number (used on the primary).
+     */
+    public Mutation append(Mutation.Type type, Map<String, Object> data) {
+        Mutation m = new Mutation(epoch, lastSeq + 1, System.currentTimeMillis(), type, data);
+        add(m);
+        return m;
+    }
+
+    /**
+     * Appends a mutation received from upstream, keeping its sequence number and timestamp.
+     */
+    public void appendReplicated(Mutation m) {
+        if (!epoch.equals(m.getEpoch())) {
+            throw new IllegalStateException("Mutation " + m.getSeq() + " is from log " + m.getEpoch()
+                    + ", this replica follows " + epoch);
+        }
+        if (m.getSeq() != lastSeq + 1) {
+            throw new IllegalStateException("Out-of-order mutation " + m.getSeq() + ", expected " + (lastSeq + 1));
+        }
+        add(m);
+    }
+
+    private void add(Mutation m) {
+        entries.add(m);
+        lastSeq = m.getSeq();
+        if (entries.size() >= 2 * retention) {
+            entries.subList(0, entries.size() - retention).clear();
+        }
+    }
+
+    /**
+     * Drops every entry and continues the log `epoch` after `seq`
+     * (used once a replica has installed a snapshot taken at that point).
+     */
+    public void reset(String epoch, long seq) {
+        entries.clear();
+        this.epoch = epoch;
+        this.lastSeq = seq;
+    }
+
+    public String getEpoch() {
+        return epoch;
+    }
+
+    public long getLastSeq() {
+        return lastSeq;
+    }
+
+    /**
+     * True if some mutation with seq greater than {@code afterSeq} was already dropped.
+     */
+    public boolean isTruncatedAfter(long afterSeq) {
+        long firstRetained = lastSeq - entries.size() + 1;
+        return afterSeq + 1 < firstRetained;
+    }
+
+    /**
+     * Returns up to {@code limit} retained mutations with seq greater than {@code afterSeq}, oldest first.
+     */
+    public List<Mutation> readAfter(long afterSeq, int limit) {
+        long firstRetained = lastSeq - entries.size() + 1;
+        int from = (int) Math.max(0, Math.min(afterSeq + 1 - firstRetained, entries.size()));
+        int to = (int) Math.min(entries.size(), (long) from + limit);
+        return new ArrayList<>(entries.subList(from, to));
+    }
+}
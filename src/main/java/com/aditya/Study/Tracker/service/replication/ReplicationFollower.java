@@ -0,0 +1,198 @@
+package com.aditya.Study.Tracker.service.replication;
+
+import com.aditya.Study.Tracker.service.StudyTrackerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-replica mode. When `study-tracker.replication.role=follower`, this bean polls
+ * the primary's mutation log (GET /api/v1/replication/log) and replays every entry,
+ * in order, into the local StudyTrackerService. Writes are rejected by the web layer.
+ *
+ * The replica (re)bootstraps from the primary's snapshot (GET /api/v1/replication/snapshot)
+ * whenever the log it gets back is not the one it follows:
+ *  - on start, its own log has a different epoch than the primary's
+ *  - the primary restarted, so its log has a new epoch (and seq starts at 1 again)
+ *  - the primary already dropped entries this replica still needs
+ *
+ * Lag is reported two ways:
+ *  - entries : mutations the primary had that are not applied here yet
+ *  - millis  : time since this replica was last known to be fully caught up
+ * On a primary (the default) this bean does nothing.
+ */
+@Component
+public class ReplicationFollower implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicationFollower.class);
+
+    private final StudyTrackerService service;
+    private final boolean follower;
+    private final String primaryUrl;
+    private final long pollIntervalMs;
+    private final int batchSize;
+    private final int connectTimeoutMs;
+    private final int readTimeoutMs;
+
+    private ReplicationSource source;
+    private ScheduledExecutorService poller;
+
+    private volatile long primaryLastSeq = 0;
+    private volatile long caughtUpAt = System.currentTimeMillis();
+    private volatile boolean bootstrapped = false;
+    private volatile int bootstrapCount = 0;
+    private volatile String lastError;
+    private volatile boolean failed = false;
+
+    @Autowired
+    public ReplicationFollower(
+            StudyTrackerService service,
+            @Value("${study-tracker.replication.role:primary}") String role,
+            @Value("${study-tracker.replication.primary-url:}") String primaryUrl,
+            @Value("${study-tracker.replication.poll-interval-ms:200}") long pollIntervalMs,
+            @Value("${study-tracker.replication.batch-size:500}") int batchSize,
+            @Value("${study-tracker.replication.connect-timeout-ms:2000}") int connectTimeoutMs,
+            @Value("${study-tracker.replication.read-timeout-ms:10000}") int readTimeoutMs
+    ) {
+        this.service = service;
+        this.follower = "follower".equalsIgnoreCase(role);
+        this.primaryUrl = primaryUrl;
+        this.pollIntervalMs = pollIntervalMs;
+        this.batchSize = batchSize;
+        this.connectTimeoutMs = connectTimeoutMs;
+        this.readTimeoutMs = readTimeoutMs;
+    }
+
+    // Follower reading from an explicit source, driven by calling pollOnce() (used in tests)
+    ReplicationFollower(StudyTrackerService service, ReplicationSource source, String primaryUrl, int batchSize) {
+        this(service, "follower", primaryUrl, 0, batchSize, 0, 0);
+        this.source = source;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!follower) return;
+        if (primaryUrl == null || primaryUrl.isBlank()) {
+            throw new IllegalStateException("study-tracker.replication.primary-url is required for a follower.");
+        }
+        if (connectTimeoutMs <= 0 || readTimeoutMs <= 0) {
+            // 0 would mean "wait forever" to the HTTP client
+            throw new IllegalStateException("study-tracker.replication connect and read timeouts must be positive.");
+        }
+
+        source = new HttpReplicationSource(primaryUrl, connectTimeoutMs, readTimeoutMs);
+        poller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "replication-follower");
+            t.setDaemon(true);
+            return t;
+        });
+        poller.scheduleWithFixedDelay(this::pollOnce, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (poller != null) poller.shutdownNow();
+    }
+
+    public boolean isFollower() {
+        return follower;
+    }
+
+    public String getPrimaryUrl() {
+        return primaryUrl;
+    }
+
+    public long getLagEntries() {
+        return Math.max(0, primaryLastSeq - service.getLastMutationSeq());
+    }
+
+    public long getLagMillis() {
+        return bootstrapped && getLagEntries() == 0 && !failed ? 0 : System.currentTimeMillis() - caughtUpAt;
+    }
+
+    /**
+     * Replication state for the status endpoint.
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("role", follower ? "follower" : "primary");
+        status.put("epoch", service.getMutationLogEpoch());
+        status.put("lastSeq", service.getLastMutationSeq());
+        if (follower) {
+            status.put("primaryUrl", primaryUrl);
+            status.put("primaryLastSeq", primaryLastSeq);
+            status.put("lagEntries", getLagEntries());
+            status.put("lagMillis", getLagMillis());
+            status.put("bootstraps", bootstrapCount);
+            status.put("state", failed ? "FAILED" : bootstrapped ? "RUNNING" : "BOOTSTRAPPING");
+            status.put("lastError", lastError);
+        }
+        return status;
+    }
+
+    // Pulls batches until caught up with what the primary reported.
+    void pollOnce() {
+        if (failed) return;
+        try {
+            while (true) {
+                long requestedAt = System.currentTimeMillis();
+                long applied = service.getLastMutationSeq();
+                MutationBatch batch = source.fetchLog(applied, batchSize);
+
+                if (!batch.getEpoch().equals(service.getMutationLogEpoch()) || batch.isTruncated()) {
+                    // not (or no longer) a continuation of what this replica holds
+                    bootstrap(requestedAt);
+                    return;
+                }
+                if (batch.getLastSeq() < applied) {
+                    throw new IllegalStateException("Primary log " + batch.getEpoch() + " ends at " + batch.getLastSeq()
+                            + " but this replica already applied " + applied);
+                }
+
+                for (Mutation m : batch.getMutations()) {
+                    service.applyReplicated(m);
+                }
+                primaryLastSeq = batch.getLastSeq();
+                lastError = null;
+
+                if (service.getLastMutationSeq() >= primaryLastSeq) {
+                    caughtUpAt = requestedAt;
+                    return;
+                }
+                if (batch.getMutations().isEmpty()) return;
+            }
+        } catch (RestClientException e) {
+            // primary unreachable: keep serving (stale) reads and retry on the next tick
+            lastError = e.getMessage();
+        } catch (RuntimeException e) {
+            // replay failed, local state can no longer be trusted to match the primary
+            failed = true;
+            lastError = e.getMessage();
+            log.error("Replication stopped: {}", e.getMessage(), e);
+        }
+    }
+
+    private void bootstrap(long requestedAt) {
+        StateSnapshot snapshot = source.fetchSnapshot();
+        if (bootstrapped) {
+            log.warn("Primary log changed (now {} at seq {}), re-bootstrapping from snapshot",
+                    snapshot.getEpoch(), snapshot.getSeq());
+        }
+        service.installSnapshot(snapshot);
+        primaryLastSeq = snapshot.getSeq();
+        caughtUpAt = requestedAt;
+        bootstrapped = true;
+        bootstrapCount++;
+        lastError = null;
+    }
+}
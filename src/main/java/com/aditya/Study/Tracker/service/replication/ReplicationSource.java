@@ -0,0 +1,17 @@
+package com.aditya.Study.Tracker.service.replication;
+
+/**
+ * Where a follower reads the primary's log and snapshots from.
+ */
+public interface ReplicationSource {
+
+    /**
+     * Up to `limit` mutations after `afterSeq` (GET /api/v1/replication/log).
+     */
+    MutationBatch fetchLog(long afterSeq, int limit);
+
+    /**
+     * The primary's current full state (GET /api/v1/replication/snapshot).
+     */
+    StateSnapshot fetchSnapshot();
+}
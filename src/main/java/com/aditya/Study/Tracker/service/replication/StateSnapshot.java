@@ -0,0 +1,83 @@
+package com.aditya.Study.Tracker.service.replication;
+
+import java.util.*;
+
+/**
+ * Full copy of the service state at mutation `seq` of log `epoch`. A new follower
+ * (or one whose primary restarted, or that fell behind the log's retention) installs
+ * this and then tails the log from `seq`.
+ *
+ * Everything is kept JSON-friendly, like {@link Mutation} data:
+ *  - tasks              : every task the queue or the undo/redo history refers to
+ *                         { taskId, title, subject, priorityScore, deadline, review }
+ *  - queuedTaskIds      : task queue in heap order, so re-adding rebuilds the same heap
+ *  - undoHistory / redoHistory : oldest first, { type, taskId } or { type, prerequisite, dependent }
+ *  - subjects           : in the order they were first seen
+ *  - dependencies       : [ prerequisite, dependent ] pairs, per prerequisite in insertion order
+ *  - completedSubjects, blocks { start, end }, logs { date, subject, durationHours, description }
+ * An exported snapshot's logs are decoded as the list is read (see StudyTrackerService#exportSnapshot).
+ */
+public class StateSnapshot {
+    private final String epoch;
+    private final long seq;
+    private final List<Map<String, Object>> tasks;
+    private final List<Integer> queuedTaskIds;
+    private final List<Map<String, Object>> undoHistory;
+    private final List<Map<String, Object>> redoHistory;
+    private final List<String> subjects;
+    private final List<List<String>> dependencies;
+    private final List<String> completedSubjects;
+    private final List<Map<String, Object>> blocks;
+    private final List<Map<String, Object>> logs;
+
+    public StateSnapshot(String epoch, long seq, List<Map<String, Object>> tasks, List<Integer> queuedTaskIds,
+                         List<Map<String, Object>> undoHistory, List<Map<String, Object>> redoHistory,
+                         List<String> subjects, List<List<String>> dependencies, List<String> completedSubjects,
+                         List<Map<String, Object>> blocks, List<Map<String, Object>> logs) {
+        this.epoch = epoch;
+        this.seq = seq;
+        this.tasks = tasks;
+        this.queuedTaskIds = queuedTaskIds;
+        this.undoHistory = undoHistory;
+        this.redoHistory = redoHistory;
+        this.subjects = subjects;
+        this.dependencies = dependencies;
+        this.completedSubjects = completedSubjects;
+        this.blocks = blocks;
+        this.logs = logs;
+    }
+
+    public String getEpoch() { return epoch; }
+    public long getSeq() { return seq; }
+    public List<Map<String, Object>> getTasks() { return tasks; }
+    public List<Integer> getQueuedTaskIds() { return queuedTaskIds; }
+    public List<Map<String, Object>> getUndoHistory() { return undoHistory; }
+    public List<Map<String, Object>> getRedoHistory() { return redoHistory; }
+    public List<String> getSubjects() { return subjects; }
+    public List<List<String>> getDependencies() { return dependencies; }
+    public List<String> getCompletedSubjects() { return completedSubjects; }
+    public List<Map<String, Object>> getBlocks() { return blocks; }
+    public List<Map<String, Object>> getLogs() { return logs; }
+
+    /**
+     * Rebuilds a snapshot from its JSON form (as returned by the snapshot endpoint).
+     */
+    @SuppressWarnings("unchecked")
+    public static StateSnapshot fromJson(Map<String, Object> json) {
+        List<Integer> queued = new ArrayList<>();
+        for (Object id : (List<Object>) json.get("queuedTaskIds")) queued.add(((Number) id).intValue());
+        return new StateSnapshot(
+                (String) json.get("epoch"),
+                ((Number) json.get("seq")).longValue(),
+                (List<Map<String, Object>>) json.get("tasks"),
+                queued,
+                (List<Map<String, Object>>) json.get("undoHistory"),
+                (List<Map<String, Object>>) json.get("redoHistory"),
+                (List<String>) json.get("subjects"),
+                (List<List<String>>) json.get("dependencies"),
+                (List<String>) json.get("completedSubjects"),
+                (List<Map<String, Object>>) json.get("blocks"),
+                (List<Map<String, Object>>) json.get("logs")
+        );
+    }
+}
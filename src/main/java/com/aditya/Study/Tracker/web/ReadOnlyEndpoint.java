@@ -0,0 +1,15 @@
+package com.aditya.Study.Tracker.web;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a non-GET endpoint that does not change state (e.g. plan generation),
+ * so read replicas may still serve it.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadOnlyEndpoint {
+}
@@ -0,0 +1,41 @@
+package com.aditya.Study.Tracker.web;
+
+import com.aditya.Study.Tracker.service.replication.ReplicationFollower;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * On a read replica: adds replication lag headers to every response and rejects
+ * writes with 403, pointing the client at the primary. Does nothing on a primary.
+ */
+@Component
+public class ReplicaWriteInterceptor implements HandlerInterceptor {
+
+    private final ReplicationFollower replication;
+
+    public ReplicaWriteInterceptor(ReplicationFollower replication) {
+        this.replication = replication;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!replication.isFollower()) return true;
+
+        response.setHeader("X-Replication-Lag-Entries", String.valueOf(replication.getLagEntries()));
+        response.setHeader("X-Replication-Lag-Millis", String.valueOf(replication.getLagMillis()));
+
+        String method = request.getMethod();
+        boolean read = "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method)
+                || (handler instanceof HandlerMethod hm && hm.hasMethodAnnotation(ReadOnlyEndpoint.class));
+        if (read) return true;
+
+        response.setHeader("X-Primary-Url", replication.getPrimaryUrl());
+        response.sendError(HttpStatus.FORBIDDEN.value(),
+                "Read-only replica: send writes to " + replication.getPrimaryUrl());
+        return false;
+    }
+}
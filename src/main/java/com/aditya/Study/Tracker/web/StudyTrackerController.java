@@ -3,24 +3,29 @@ package com.aditya.Study.Tracker.web;
 import com.aditya.Study.Tracker.data.models.StudyLog;
 import com.aditya.Study.Tracker.data.models.Task;
 import com.aditya.Study.Tracker.service.StudyTrackerService;
+import com.aditya.Study.Tracker.service.planning.PlanCandidate;
+import com.aditya.Study.Tracker.service.planning.PlanEvaluation;
+import com.aditya.Study.Tracker.service.replication.MutationBatch;
+import com.aditya.Study.Tracker.service.replication.ReplicationFollower;
+import com.aditya.Study.Tracker.service.replication.StateSnapshot;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.List;
-import java.util.Map;
-import java.util.NoSuchElementException;
+import java.util.*;
 
 @RestController
 @RequestMapping("/api/v1")
 public class StudyTrackerController {
 
     private final StudyTrackerService service;
+    private final ReplicationFollower replication;
 
-    public StudyTrackerController(StudyTrackerService service) {
+    public StudyTrackerController(StudyTrackerService service, ReplicationFollower replication) {
         this.service = service;
+        this.replication = replication;
     }
 
     // --- Task Prioritization (Max-Heap) Endpoints ---
@@ -53,6 +58,23 @@ public class StudyTrackerController {
         return ResponseEntity.ok(service.getAllTasks());
     }
 
+    /**
+     * GET /api/v1/tasks/ready             -> top task whose subject prerequisites are all done
+     * GET /api/v1/tasks/ready?subject=DSA -> top task of that subject (204 if locked or empty)
+     */
+    @GetMapping("/tasks/ready")
+    public ResponseEntity<Task> getTopReadyTask(@RequestParam(value = "subject", required = false) String subject) {
+        Task task = subject == null ? service.peekTopReadyTask() : service.peekTopReadyTask(subject);
+        return task != null ?
+                ResponseEntity.ok(task) :
+                ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/tasks/ready/by-subject")
+    public ResponseEntity<Map<String, Task>> getTopReadyTaskBySubject() {
+        return ResponseEntity.ok(service.getTopReadyTaskBySubject());
+    }
+
     @PostMapping("/tasks/complete")
     public ResponseEntity<Task> completeTopTask(@RequestBody Map<String, Object> request) {
         try {
@@ -82,6 +104,45 @@ public class StudyTrackerController {
         return new ResponseEntity<>(HttpStatus.CREATED);
     }
 
+    /**
+     * POST /api/v1/subjects/{name}/complete
+     * Marks the subject as done; returns the subjects it unlocked.
+     */
+    @PostMapping("/subjects/{name}/complete")
+    public ResponseEntity<List<String>> markSubjectCompleted(@PathVariable("name") String subject) {
+        return ResponseEntity.ok(service.markSubjectCompleted(subject));
+    }
+
+    /**
+     * GET /api/v1/subjects/{name}/prerequisites
+     * Everything that must be finished before the subject (transitively). 404 if unknown.
+     */
+    @GetMapping("/subjects/{name}/prerequisites")
+    public ResponseEntity<List<String>> getPrerequisites(@PathVariable("name") String subject) {
+        List<String> result = service.getAllPrerequisites(subject);
+        return result != null ? ResponseEntity.ok(result) : new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * GET /api/v1/subjects/{name}/dependents
+     * Everything that finishing the subject unlocks (transitively). 404 if unknown.
+     */
+    @GetMapping("/subjects/{name}/dependents")
+    public ResponseEntity<List<String>> getDependents(@PathVariable("name") String subject) {
+        List<String> result = service.getAllDependents(subject);
+        return result != null ? ResponseEntity.ok(result) : new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * GET /api/v1/subjects/is-prerequisite?prerequisite=A&dependent=B
+     * Returns true if A must come before B through any chain of dependencies.
+     */
+    @GetMapping("/subjects/is-prerequisite")
+    public ResponseEntity<Boolean> isPrerequisite(@RequestParam("prerequisite") String prerequisite,
+                                                  @RequestParam("dependent") String dependent) {
+        return ResponseEntity.ok(service.isPrerequisite(prerequisite, dependent));
+    }
+
     @GetMapping("/subjects/path")
     public ResponseEntity<List<String>> getStudyPath() {
         List<String> path = service.getIdealStudyPath();
@@ -119,6 +180,39 @@ public class StudyTrackerController {
         return ResponseEntity.ok(service.getAllLogs());
     }
 
+    /**
+     * GET /api/v1/logs/range?from=2025-01-01&to=2025-01-31
+     * Returns logs dated within [from, to], inclusive. 400 on bad dates.
+     */
+    @GetMapping("/logs/range")
+    public ResponseEntity<List<StudyLog>> getLogsBetween(@RequestParam("from") String from,
+                                                         @RequestParam("to") String to) {
+        try {
+            LocalDate fromDate = LocalDate.parse(from);
+            LocalDate toDate = LocalDate.parse(to);
+            if (toDate.isBefore(fromDate)) return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            return ResponseEntity.ok(service.getLogsBetween(fromDate, toDate));
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // --- Full-Text Search (Inverted Index) Endpoints ---
+
+    /**
+     * GET /api/v1/search?q=graph alg&limit=10
+     * Matches task titles and log descriptions; the last word also matches as a prefix.
+     * Returns 200 with ranked hits, 400 if the query is blank.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<Map<String, Object>>> search(
+            @RequestParam("q") String query,
+            @RequestParam(value = "limit", defaultValue = "10") int limit
+    ) {
+        if (query == null || query.isBlank() || limit <= 0) return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        return ResponseEntity.ok(service.search(query, limit));
+    }
+
     // --- Scheduling / Interval Tree Endpoints ---
 
     /**
@@ -153,6 +247,7 @@ public class StudyTrackerController {
      * Returns 200 with JSON map: { "Monday": [ {slot, taskId, title, subject}, ... ], ... }
      */
     @PostMapping("/schedule/weekly-plan")
+    @ReadOnlyEndpoint
     public ResponseEntity<java.util.Map<String, java.util.List<java.util.Map<String, Object>>>> weeklyPlan(
             @RequestBody(required = false) Map<String, Object> request
     ) {
@@ -169,6 +264,45 @@ public class StudyTrackerController {
         }
     }
 
+    /**
+     * POST /api/v1/schedule/what-if
+     * Body: { "candidates": [ { "name": "A", "slotsPerDay": 3, "slotHours": 1.0,
+     *                           "subjectWeights": { "DSA": 1.5 }, "excludeTaskIds": [4] }, ... ] }
+     * Plans cover the seven days starting today, keyed by date ("2024-05-16": [ slots ]);
+     * deadlines are checked against those dates.
+     * Only slotsPerDay is required per candidate. Returns 200 with candidates ranked best first,
+     * each with score, deadlineMisses, dependencyViolations, subjectImbalance, idleHours and plan.
+     */
+    @PostMapping("/schedule/what-if")
+    @ReadOnlyEndpoint
+    @SuppressWarnings("unchecked")
+    public ResponseEntity<List<PlanEvaluation>> compareWeeklyPlans(@RequestBody Map<String, Object> request) {
+        try {
+            List<Map<String, Object>> raw = (List<Map<String, Object>>) request.get("candidates");
+            if (raw == null || raw.isEmpty()) return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+
+            List<PlanCandidate> candidates = new ArrayList<>();
+            for (Map<String, Object> c : raw) {
+                String name = (String) c.getOrDefault("name", "Plan " + (candidates.size() + 1));
+                int slots = ((Number) c.get("slotsPerDay")).intValue();
+                double slotHours = ((Number) c.getOrDefault("slotHours", 1.0)).doubleValue();
+
+                Map<String, Double> weights = new HashMap<>();
+                Map<String, Object> rawWeights = (Map<String, Object>) c.getOrDefault("subjectWeights", Map.of());
+                rawWeights.forEach((subject, w) -> weights.put(subject, ((Number) w).doubleValue()));
+
+                Set<Integer> excluded = new HashSet<>();
+                for (Object id : (List<Object>) c.getOrDefault("excludeTaskIds", List.of())) {
+                    excluded.add(((Number) id).intValue());
+                }
+                candidates.add(new PlanCandidate(name, slots, slotHours, weights, excluded));
+            }
+            return ResponseEntity.ok(service.comparePlans(candidates));
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
     // --- Undo / Redo Endpoints ---
 
     @PostMapping("/undo")
@@ -182,5 +316,42 @@ public class StudyTrackerController {
         String result = service.redoAction();
         return ResponseEntity.ok(result);
     }
-}
 
+    // --- Replication (read replicas) Endpoints ---
+
+    /**
+     * GET /api/v1/replication/log?after=0&limit=500
+     * Ordered mutations with seq > after. Followers tail this to stay in sync.
+     * Returns { "epoch": string, "lastSeq": long, "truncated": boolean,
+     *           "mutations": [ { epoch, seq, timestamp, type, data }, ... ] }
+     * A new epoch means the primary restarted; `truncated` means entries after `after`
+     * were already dropped. In both cases the follower re-bootstraps from /replication/snapshot.
+     */
+    @GetMapping("/replication/log")
+    public ResponseEntity<MutationBatch> getReplicationLog(
+            @RequestParam(value = "after", defaultValue = "0") long after,
+            @RequestParam(value = "limit", defaultValue = "500") int limit
+    ) {
+        if (after < 0 || limit <= 0 || limit > 5000) return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        return ResponseEntity.ok(service.readMutationLog(after, limit));
+    }
+
+    /**
+     * GET /api/v1/replication/snapshot
+     * Full state at a given log position ({ epoch, seq, tasks, logs, ... }).
+     * Followers install it, then tail /replication/log from `seq`.
+     */
+    @GetMapping("/replication/snapshot")
+    public ResponseEntity<StateSnapshot> getReplicationSnapshot() {
+        return ResponseEntity.ok(service.exportSnapshot());
+    }
+
+    /**
+     * GET /api/v1/replication/status
+     * Role, applied sequence number and (on followers) replication lag.
+     */
+    @GetMapping("/replication/status")
+    public ResponseEntity<Map<String, Object>> getReplicationStatus() {
+        return ResponseEntity.ok(replication.getStatus());
+    }
+}
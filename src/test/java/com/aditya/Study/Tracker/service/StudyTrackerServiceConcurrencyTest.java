@@ -0,0 +1,279 @@
+package com.aditya.Study.Tracker.service;
+
+import com.aditya.Study.Tracker.data.models.StudyLog;
+import com.aditya.Study.Tracker.data.models.Task;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Multi-threaded stress tests for StudyTrackerService. Many threads hammer writes
+ * and reads at once; afterwards the final state (and a recorded history) is checked
+ * against invariants that any correct concurrency model must keep.
+ */
+class StudyTrackerServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int OPS_PER_THREAD = 1_000;
+    private static final String[] SUBJECTS = { "DSA", "OS", "DBMS", "CN" };
+
+    @TempDir
+    Path segmentDir;
+
+    private StudyTrackerService newService() {
+        // Small hot tier so logs are sealed into segments while the test runs
+        return new StudyTrackerService(64, 32, segmentDir.toString(), 1_000);
+    }
+
+    /**
+     * Runs {@code body(threadIndex)} on THREADS threads released at the same instant,
+     * rethrowing the first failure.
+     */
+    private static void runConcurrently(ThrowingConsumer body) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                final int thread = t;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    body.accept(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) {
+                try {
+                    f.get(60, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof Exception ex) throw ex;
+                    throw e;
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThrowingConsumer {
+        void accept(int thread) throws Exception;
+    }
+
+    @Test
+    void tasksCreatedConcurrentlyGetUniqueIds() throws Exception {
+        Set<Integer> ids = ConcurrentHashMap.newKeySet();
+        AtomicInteger created = new AtomicInteger();
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < OPS_PER_THREAD; i++) {
+                // Outside any lock on purpose: the id counter itself must be atomic
+                ids.add(new Task("t", "DSA", 1, LocalDate.now()).getTaskId());
+                created.incrementAndGet();
+            }
+        });
+
+        assertEquals(created.get(), ids.size(), "duplicate task ids");
+    }
+
+    @Test
+    void mixedWorkloadKeepsTasksLogsAndSummariesConsistent() throws Exception {
+        StudyTrackerService service = newService();
+        AtomicInteger added = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger inserted = new AtomicInteger();
+        AtomicLong hoursLogged = new AtomicLong(); // whole hours only, so sums are exact
+        Set<Integer> returnedIds = ConcurrentHashMap.newKeySet();
+
+        runConcurrently(thread -> {
+            Random random = new Random(thread);
+            int lastLogCount = 0;
+            for (int i = 0; i < OPS_PER_THREAD; i++) {
+                String subject = SUBJECTS[random.nextInt(SUBJECTS.length)];
+                int hours = 1 + random.nextInt(3);
+                switch (random.nextInt(6)) {
+                    case 0, 1 -> {
+                        Task t = service.addTask("stress task " + thread + "-" + i, subject,
+                                random.nextInt(100), LocalDate.now().plusDays(random.nextInt(10)));
+                        assertTrue(returnedIds.add(t.getTaskId()), "id handed out twice");
+                        added.incrementAndGet();
+                    }
+                    case 2 -> {
+                        try {
+                            service.completeTopTask(hours, "done");
+                            completed.incrementAndGet();
+                            hoursLogged.addAndGet(hours);
+                        } catch (NoSuchElementException ignored) {
+                            // queue was momentarily empty
+                        }
+                    }
+                    case 3 -> {
+                        service.insertLog(subject, hours, "manual log " + thread);
+                        inserted.incrementAndGet();
+                        hoursLogged.addAndGet(hours);
+                    }
+                    case 4 -> {
+                        // Logs are append-only: a thread must never see the count go down
+                        int count = service.getAllLogs().size();
+                        assertTrue(count >= lastLogCount, "log count went backwards");
+                        lastLogCount = count;
+                    }
+                    default -> {
+                        List<Task> tasks = service.getAllTasks();
+                        for (int k = 1; k < tasks.size(); k++) {
+                            assertTrue(tasks.get(k - 1).getPriorityScore() >= tasks.get(k).getPriorityScore());
+                        }
+                        service.getSummaryBySubject();
+                        service.search("stress", 5);
+                        service.peekTopReadyTask();
+                    }
+                }
+            }
+        });
+
+        // No lost tasks: completing removes one task and schedules one review
+        List<Task> tasks = service.getAllTasks();
+        assertEquals(added.get(), tasks.size());
+        assertEquals(tasks.size(), tasks.stream().map(Task::getTaskId).distinct().count(), "duplicate task in queue");
+
+        // Every completion and manual insert produced exactly one log
+        List<StudyLog> logs = service.getAllLogs();
+        assertEquals(inserted.get() + completed.get(), logs.size());
+
+        // Summary agrees with both the logs and the recorded durations
+        Map<String, Double> summary = service.getSummaryBySubject();
+        Map<String, Double> recomputed = new HashMap<>();
+        for (StudyLog log : logs) recomputed.merge(log.getSubject(), log.getDurationHours(), Double::sum);
+        assertEquals(recomputed, summary);
+        assertEquals((double) hoursLogged.get(), summary.values().stream().mapToDouble(Double::doubleValue).sum());
+
+        // Secondary indexes agree with the queue
+        if (!tasks.isEmpty()) {
+            assertEquals(tasks.get(0).getPriorityScore(), service.peekTopTask().getPriorityScore());
+            assertEquals(tasks.get(0).getPriorityScore(), service.peekTopReadyTask().getPriorityScore());
+        }
+    }
+
+    @Test
+    void undoRedoInterleavedWithCompletesKeepsQueueAndIndexesInSync() throws Exception {
+        StudyTrackerService service = newService();
+
+        runConcurrently(thread -> {
+            Random random = new Random(100 + thread);
+            for (int i = 0; i < OPS_PER_THREAD; i++) {
+                switch (random.nextInt(5)) {
+                    case 0, 1 -> service.addTask("undoable t" + thread + "x" + i, SUBJECTS[random.nextInt(SUBJECTS.length)],
+                            random.nextInt(100), LocalDate.now());
+                    case 2 -> {
+                        try {
+                            service.completeTopTask(1, "");
+                        } catch (NoSuchElementException ignored) {
+                            // queue was momentarily empty
+                        }
+                    }
+                    case 3 -> service.undoAction();
+                    default -> service.redoAction();
+                }
+            }
+        });
+
+        List<Task> tasks = service.getAllTasks();
+        assertEquals(tasks.size(), tasks.stream().map(Task::getTaskId).distinct().count(), "task present twice");
+
+        // The search index holds exactly the queued tasks (reviews included)
+        Set<Integer> queued = new HashSet<>();
+        for (Task t : tasks) queued.add(t.getTaskId());
+        Set<Integer> indexed = new HashSet<>();
+        for (Map<String, Object> hit : service.search("undoable", Integer.MAX_VALUE)) {
+            if ("task".equals(hit.get("type"))) indexed.add(((Task) hit.get("task")).getTaskId());
+        }
+        assertEquals(queued, indexed);
+
+        // The per-subject heaps hold exactly the queued tasks' best entries
+        if (tasks.isEmpty()) {
+            assertNull(service.peekTopReadyTask());
+        } else {
+            assertEquals(tasks.get(0).getPriorityScore(), service.peekTopReadyTask().getPriorityScore());
+            for (Map.Entry<String, Task> e : service.getTopReadyTaskBySubject().entrySet()) {
+                int best = tasks.stream().filter(t -> t.getSubject().equals(e.getKey()))
+                        .mapToInt(Task::getPriorityScore).max().orElseThrow();
+                assertEquals(best, e.getValue().getPriorityScore());
+                assertTrue(queued.contains(e.getValue().getTaskId()));
+            }
+        }
+    }
+
+    /**
+     * Records every insertLog and every read of the log count with invocation/response
+     * timestamps, then checks the history is linearizable for a grow-only counter:
+     *  - a read returns at least the inserts that finished before it started,
+     *  - and at most the inserts that started before it finished,
+     *  - and a read that starts after another read finished never returns less.
+     */
+    @Test
+    void logCountHistoryIsLinearizable() throws Exception {
+        StudyTrackerService service = newService();
+        List<long[]> inserts = Collections.synchronizedList(new ArrayList<>()); // {invoke, response}
+        List<long[]> reads = Collections.synchronizedList(new ArrayList<>());   // {invoke, response, value}
+
+        runConcurrently(thread -> {
+            Random random = new Random(200 + thread);
+            for (int i = 0; i < OPS_PER_THREAD / 4; i++) {
+                long invoke = System.nanoTime();
+                if (random.nextBoolean()) {
+                    service.insertLog(SUBJECTS[thread % SUBJECTS.length], 1, "history");
+                    inserts.add(new long[] { invoke, System.nanoTime() });
+                } else {
+                    int value = service.getAllLogs().size();
+                    reads.add(new long[] { invoke, System.nanoTime(), value });
+                }
+            }
+        });
+
+        long[] insertInvokes = inserts.stream().mapToLong(op -> op[0]).sorted().toArray();
+        long[] insertResponses = inserts.stream().mapToLong(op -> op[1]).sorted().toArray();
+
+        for (long[] read : reads) {
+            int completedBefore = countBefore(insertResponses, read[0]);
+            int startedBefore = countBefore(insertInvokes, read[1]);
+            assertTrue(read[2] >= completedBefore && read[2] <= startedBefore,
+                    "read " + read[2] + " outside [" + completedBefore + ", " + startedBefore + "]");
+        }
+
+        // Real-time order between reads: sweep by invocation, tracking the best finished read
+        List<long[]> byInvoke = new ArrayList<>(reads);
+        byInvoke.sort(Comparator.comparingLong(op -> op[0]));
+        List<long[]> byResponse = new ArrayList<>(reads);
+        byResponse.sort(Comparator.comparingLong(op -> op[1]));
+        long maxFinished = 0;
+        int j = 0;
+        for (long[] read : byInvoke) {
+            while (j < byResponse.size() && byResponse.get(j)[1] < read[0]) {
+                maxFinished = Math.max(maxFinished, byResponse.get(j)[2]);
+                j++;
+            }
+            assertTrue(read[2] >= maxFinished, "read went back in time");
+        }
+
+        assertEquals(inserts.size(), service.getAllLogs().size());
+    }
+
+    // Number of timestamps strictly before `t` in a sorted array
+    private static int countBefore(long[] sorted, long t) {
+        int lo = 0, hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < t) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,192 @@
+package com.aditya.Study.Tracker.service.data_structures;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Randomized checks of the inverted index against an exhaustive scorer. Corpora stay
+ * below the candidate budget, so early termination must give exactly the top-k scores.
+ */
+class InvertedIndexTest {
+
+    private static final String[] WORDS = {
+            "graph", "graphs", "grammar", "tree", "trees", "trie", "heap", "hash", "hashing",
+            "review", "chapter", "tcp", "udp", "process", "paging", "sql", "join", "b"
+    };
+
+    private static String randomText(Random random) {
+        StringBuilder text = new StringBuilder();
+        int words = 1 + random.nextInt(7);
+        for (int i = 0; i < words; i++) text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        if (random.nextInt(4) == 0) text.append(random.nextInt(20));
+        return text.toString();
+    }
+
+    private static String randomQuery(Random random) {
+        StringBuilder query = new StringBuilder();
+        int words = 1 + random.nextInt(3);
+        for (int i = 0; i < words; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            // the last word is sometimes only partially typed
+            if (i == words - 1 && random.nextBoolean()) word = word.substring(0, 1 + random.nextInt(word.length()));
+            query.append(word).append(' ');
+        }
+        return query.toString();
+    }
+
+    /**
+     * Top-k scores by scoring every document, with the index's scoring rules.
+     */
+    private static List<Double> exhaustiveScores(Map<Integer, String> corpus, String query, int limit) {
+        Map<Integer, Map<String, Integer>> tf = new HashMap<>();
+        Map<String, Integer> df = new HashMap<>();
+        TreeSet<String> vocabulary = new TreeSet<>();
+        corpus.forEach((id, text) -> {
+            Map<String, Integer> counts = new HashMap<>();
+            for (String token : InvertedIndex.tokenize(text)) counts.merge(token, 1, Integer::sum);
+            if (counts.isEmpty()) return;
+            tf.put(id, counts);
+            for (String term : counts.keySet()) df.merge(term, 1, Integer::sum);
+            vocabulary.addAll(counts.keySet());
+        });
+        int n = tf.size();
+
+        List<String> tokens = InvertedIndex.tokenize(query);
+        List<Map<String, Double>> tokenTerms = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            Map<String, Double> weights = new HashMap<>();
+            if (df.containsKey(token)) weights.put(token, Math.log(1.0 + (double) n / df.get(token)));
+            if (i == tokens.size() - 1) {
+                int expanded = 0;
+                for (String term : vocabulary.subSet(token, false, token + Character.MAX_VALUE, false)) {
+                    if (expanded++ >= 64) break;
+                    weights.put(term, 0.5 * Math.log(1.0 + (double) n / df.get(term)));
+                }
+            }
+            tokenTerms.add(weights);
+        }
+
+        List<Double> scores = new ArrayList<>();
+        for (Map<String, Integer> doc : tf.values()) {
+            double sum = 0;
+            int matched = 0;
+            for (Map<String, Double> weights : tokenTerms) {
+                double best = 0;
+                for (Map.Entry<String, Double> w : weights.entrySet()) {
+                    Integer f = doc.get(w.getKey());
+                    if (f != null) best = Math.max(best, w.getValue() * f);
+                }
+                if (best > 0) {
+                    sum += best;
+                    matched++;
+                }
+            }
+            if (matched > 0) scores.add(sum * matched / tokenTerms.size());
+        }
+        scores.sort(Comparator.reverseOrder());
+        return scores.subList(0, Math.min(limit, scores.size()));
+    }
+
+    private static void assertScores(List<Double> expected, List<InvertedIndex.Hit> hits, String query) {
+        assertEquals(expected.size(), hits.size(), "hit count for '" + query + "'");
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), hits.get(i).getScore(), 1e-9);
+        }
+    }
+
+    @Test
+    void searchReturnsTheExactTopScores() {
+        Random random = new Random(7);
+        for (int trial = 0; trial < 100; trial++) {
+            InvertedIndex index = new InvertedIndex();
+            Map<Integer, String> corpus = new HashMap<>();
+            int docs = 1 + random.nextInt(400);
+            for (int id = 0; id < docs; id++) {
+                String text = randomText(random);
+                index.add(id, text);
+                corpus.put(id, text);
+            }
+            for (int q = 0; q < 10; q++) {
+                String query = randomQuery(random);
+                int limit = 1 + random.nextInt(10);
+                assertScores(exhaustiveScores(corpus, query, limit), index.search(query, limit), query);
+            }
+        }
+    }
+
+    @Test
+    void removedAndReplacedDocumentsAreForgotten() {
+        Random random = new Random(8);
+        InvertedIndex index = new InvertedIndex();
+        Map<Integer, String> live = new HashMap<>();
+        for (int op = 0; op < 5_000; op++) {
+            int id = random.nextInt(600);
+            if (random.nextInt(3) == 0) {
+                index.remove(id);
+                live.remove(id);
+            } else {
+                String text = randomText(random);
+                index.add(id, text);
+                live.put(id, text);
+            }
+        }
+
+        InvertedIndex rebuilt = new InvertedIndex();
+        live.forEach(rebuilt::add);
+        assertEquals(rebuilt.size(), index.size());
+        for (String word : WORDS) {
+            assertEquals(rebuilt.getDocumentFrequency(word), index.getDocumentFrequency(word), word);
+        }
+        live.forEach((id, text) -> assertEquals(rebuilt.getTermFrequencies(id), index.getTermFrequencies(id)));
+        for (int q = 0; q < 200; q++) {
+            String query = randomQuery(random);
+            assertScores(exhaustiveScores(live, query, 10), index.search(query, 10), query);
+        }
+    }
+
+    @Test
+    void postingsAreImpactOrdered() {
+        InvertedIndex index = new InvertedIndex();
+        index.add(5, "heap");
+        index.add(1, "heap heap");
+        index.add(9, "heap");
+        index.add(3, "heap heap heap");
+        index.add(7, "heap heap");
+
+        TextIndex.Postings postings = index.getPostings("heap");
+        List<Long> keys = new ArrayList<>();
+        while (postings.advance()) keys.add(postings.key());
+
+        // highest tf first, then highest id first
+        assertEquals(List.of(3L, 7L, 1L, 9L, 5L), keys);
+        assertNull(index.getPostings("tree"));
+    }
+
+    @Test
+    void indexesSplitAcrossSourcesSearchLikeOne() {
+        Random random = new Random(9);
+        for (int trial = 0; trial < 50; trial++) {
+            InvertedIndex whole = new InvertedIndex();
+            List<InvertedIndex> parts = List.of(new InvertedIndex(), new InvertedIndex(), new InvertedIndex());
+            int docs = 1 + random.nextInt(300);
+            for (int id = 0; id < docs; id++) {
+                String text = randomText(random);
+                whole.add(id, text);
+                parts.get(random.nextInt(parts.size())).add(id, text);
+            }
+            for (int q = 0; q < 10; q++) {
+                String query = randomQuery(random);
+                List<InvertedIndex.Hit> expected = whole.search(query, 5);
+                List<InvertedIndex.Hit> actual = InvertedIndex.search(query, 5, parts, parts);
+                assertEquals(expected.size(), actual.size());
+                for (int i = 0; i < expected.size(); i++) {
+                    assertEquals(expected.get(i).getScore(), actual.get(i).getScore(), 1e-9);
+                }
+            }
+        }
+    }
+}
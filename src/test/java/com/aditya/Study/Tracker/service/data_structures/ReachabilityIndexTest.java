@@ -0,0 +1,110 @@
+package com.aditya.Study.Tracker.service.data_structures;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Randomized edge additions and removals (cycles and self-loops included), checking
+ * the incrementally maintained closure against a DFS over the adjacency list.
+ */
+class ReachabilityIndexTest {
+
+    private static Set<String> dfs(String start, Map<String, List<String>> adjList) {
+        Set<String> seen = new HashSet<>();
+        Deque<String> stack = new ArrayDeque<>(List.of(start));
+        while (!stack.isEmpty()) {
+            for (String next : adjList.getOrDefault(stack.pop(), Collections.emptyList())) {
+                if (seen.add(next)) stack.push(next);
+            }
+        }
+        return seen;
+    }
+
+    private static void assertMatchesOracle(ReachabilityIndex index, List<String> nodes,
+                                            Map<String, List<String>> adjList, String step) {
+        Map<String, Set<String>> reachable = new HashMap<>();
+        for (String node : nodes) reachable.put(node, dfs(node, adjList));
+
+        for (String from : nodes) {
+            Set<String> descendants = new HashSet<>(reachable.get(from));
+            descendants.remove(from);
+            assertEquals(descendants, new HashSet<>(index.getDescendants(from)), step + ": descendants of " + from);
+
+            Set<String> ancestors = new HashSet<>();
+            for (String other : nodes) {
+                if (!other.equals(from) && reachable.get(other).contains(from)) ancestors.add(other);
+            }
+            assertEquals(ancestors, new HashSet<>(index.getAncestors(from)), step + ": ancestors of " + from);
+
+            for (String to : nodes) {
+                assertEquals(reachable.get(from).contains(to), index.reaches(from, to), step + ": " + from + " -> " + to);
+            }
+        }
+    }
+
+    @Test
+    void randomAddsAndRemovesMatchADfs() {
+        Random random = new Random(29);
+        for (int trial = 0; trial < 30; trial++) {
+            ReachabilityIndex index = new ReachabilityIndex();
+            Map<String, List<String>> adjList = new HashMap<>();
+            List<String> nodes = new ArrayList<>();
+            int size = 2 + random.nextInt(12);
+            for (int i = 0; i < size; i++) {
+                String node = "S" + i;
+                nodes.add(node);
+                adjList.put(node, new ArrayList<>());
+                index.addNode(node);
+            }
+
+            for (int op = 0; op < 150; op++) {
+                String u = nodes.get(random.nextInt(size));
+                String v = nodes.get(random.nextInt(size));
+                String step = "trial " + trial + " op " + op;
+                if (random.nextInt(5) < 3) {
+                    if (adjList.get(u).contains(v)) continue;
+                    adjList.get(u).add(v);
+                    index.addEdge(u, v);
+                    step += " add " + u + " -> " + v;
+                } else {
+                    // remove an existing edge most of the time
+                    List<String> out = adjList.get(u);
+                    if (!out.isEmpty() && random.nextInt(4) > 0) v = out.get(random.nextInt(out.size()));
+                    if (!out.remove(v)) continue;
+                    index.removeEdge(u, v, adjList);
+                    step += " remove " + u + " -> " + v;
+                }
+                assertMatchesOracle(index, nodes, adjList, step);
+            }
+        }
+    }
+
+    @Test
+    void breakingACycleRestoresOrder() {
+        ReachabilityIndex index = new ReachabilityIndex();
+        Map<String, List<String>> adjList = new HashMap<>();
+        List<String> nodes = List.of("A", "B", "C", "D");
+        for (String node : nodes) {
+            adjList.put(node, new ArrayList<>());
+            index.addNode(node);
+        }
+        String[][] edges = { { "A", "B" }, { "B", "C" }, { "C", "A" }, { "C", "D" } };
+        for (String[] e : edges) {
+            adjList.get(e[0]).add(e[1]);
+            index.addEdge(e[0], e[1]);
+        }
+        assertTrue(index.reaches("A", "A"));
+        assertTrue(index.reaches("C", "B"));
+
+        adjList.get("C").remove("A");
+        index.removeEdge("C", "A", adjList);
+
+        assertFalse(index.reaches("A", "A"));
+        assertFalse(index.reaches("C", "B"));
+        assertTrue(index.reaches("A", "D"));
+        assertMatchesOracle(index, nodes, adjList, "after breaking the cycle");
+    }
+}
@@ -0,0 +1,296 @@
+package com.aditya.Study.Tracker.service.data_structures;
+
+import com.aditya.Study.Tracker.data.models.StudyLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that logs read back identically from the hot tier and from sealed segments.
+ */
+class TieredLogStoreTest {
+
+    private static final LocalDate DAY_ONE = LocalDate.of(2025, 1, 1);
+    private static final String[] SUBJECTS = { "DSA", "OS", "Ünïcode ✓", null };
+
+    @TempDir
+    Path segmentDir;
+
+    // Logs dated one per day starting at DAY_ONE, cycling through SUBJECTS
+    private static List<StudyLog> sampleLogs(int count) {
+        List<StudyLog> logs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String description = i % 5 == 0 ? null : i % 5 == 1 ? "" : "session " + i + " — notes";
+            logs.add(new StudyLog(DAY_ONE.plusDays(i), SUBJECTS[i % SUBJECTS.length], 0.5 + i % 4, description));
+        }
+        return logs;
+    }
+
+    private static void assertSameLog(StudyLog expected, StudyLog actual) {
+        assertEquals(expected.getDate(), actual.getDate());
+        assertEquals(expected.getSubject(), actual.getSubject());
+        assertEquals(expected.getDurationHours(), actual.getDurationHours());
+        assertEquals(expected.getDescription(), actual.getDescription());
+    }
+
+    private static void assertSameLogs(List<StudyLog> expected, List<StudyLog> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) assertSameLog(expected.get(i), actual.get(i));
+    }
+
+    @Test
+    void logsRoundTripThroughSegments() {
+        TieredLogStore store = new TieredLogStore(segmentDir, 4, 2);
+        List<StudyLog> logs = sampleLogs(23);
+        for (int i = 0; i < logs.size(); i++) {
+            assertEquals(i, store.append(logs.get(i)));
+        }
+
+        assertTrue(store.getSegmentCount() > 0, "nothing was sealed");
+        assertEquals(logs.size(), store.size());
+        assertSameLogs(logs, store.getAll());
+    }
+
+    @Test
+    void getBySequenceWorksAcrossSegmentBoundaries() {
+        TieredLogStore store = new TieredLogStore(segmentDir, 5, 3);
+        List<StudyLog> logs = sampleLogs(50);
+        for (StudyLog log : logs) store.append(log);
+
+        for (int seq = 0; seq < logs.size(); seq++) {
+            assertSameLog(logs.get(seq), store.get(seq));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> store.get(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.get(logs.size()));
+    }
+
+    @Test
+    void getBetweenMatchesAFullScan() {
+        TieredLogStore store = new TieredLogStore(segmentDir, 6, 4);
+        List<StudyLog> logs = sampleLogs(40);
+        for (StudyLog log : logs) store.append(log);
+
+        // Ranges inside one segment, across segments, on segment edges, before/after all logs
+        int[][] ranges = { { 0, 0 }, { 3, 4 }, { 2, 9 }, { 7, 7 }, { 0, 39 }, { 35, 60 }, { -10, -1 }, { 41, 50 } };
+        for (int[] r : ranges) {
+            LocalDate from = DAY_ONE.plusDays(r[0]);
+            LocalDate to = DAY_ONE.plusDays(r[1]);
+            List<StudyLog> expected = new ArrayList<>();
+            for (StudyLog log : logs) {
+                if (!log.getDate().isBefore(from) && !log.getDate().isAfter(to)) expected.add(log);
+            }
+            assertSameLogs(expected, store.getBetween(from, to));
+        }
+    }
+
+    @Test
+    void hoursAndSubjectQueriesAgreeWithTheLogs() {
+        TieredLogStore store = new TieredLogStore(segmentDir, 8, 3);
+        List<StudyLog> logs = sampleLogs(37);
+        for (StudyLog log : logs) store.append(log);
+
+        Map<String, Double> expected = new HashMap<>();
+        for (StudyLog log : logs) expected.merge(log.getSubject(), log.getDurationHours(), Double::sum);
+        assertEquals(expected, store.getHoursBySubject());
+
+        for (String subject : SUBJECTS) {
+            List<StudyLog> bySubject = new ArrayList<>();
+            for (StudyLog log : logs) {
+                if (Objects.equals(log.getSubject(), subject)) bySubject.add(log);
+            }
+            assertSameLogs(bySubject, store.getBySubject(subject));
+        }
+        assertTrue(store.getBySubject("Not a subject").isEmpty());
+    }
+
+    @Test
+    void segmentWithOnlyNullSubjectsStillSealsAndAppends() {
+        TieredLogStore store = new TieredLogStore(segmentDir, 2, 2);
+        for (int i = 0; i < 10; i++) {
+            store.append(new StudyLog(DAY_ONE, null, 1, null));
+        }
+
+        assertTrue(store.getSegmentCount() > 0);
+        assertEquals(10, store.size());
+        Map<String, Double> expected = new HashMap<>();
+        expected.put(null, 10.0);
+        assertEquals(expected, store.getHoursBySubject());
+        assertNull(store.get(0).getDescription());
+    }
+
+    @Test
+    void storesSharingADirectoryKeepTheirOwnSegments() {
+        TieredLogStore first = new TieredLogStore(segmentDir, 3, 2);
+        TieredLogStore second = new TieredLogStore(segmentDir, 3, 2);
+        List<StudyLog> firstLogs = sampleLogs(12);
+        List<StudyLog> secondLogs = new ArrayList<>();
+        for (int i = 0; i < 12; i++) secondLogs.add(new StudyLog(DAY_ONE, "CN", i, "second " + i));
+
+        for (int i = 0; i < 12; i++) {
+            first.append(firstLogs.get(i));
+            second.append(secondLogs.get(i));
+        }
+
+        assertSameLogs(firstLogs, first.getAll());
+        assertSameLogs(secondLogs, second.getAll());
+    }
+
+    @Test
+    void segmentWithMoreSubjectsThanAShortIndexHolds() {
+        int count = 40_000;
+        TieredLogStore store = new TieredLogStore(segmentDir, count, count);
+        for (int i = 0; i <= count; i++) {
+            store.append(new StudyLog(DAY_ONE, "subject " + i, 1, null));
+        }
+
+        assertEquals(1, store.getSegmentCount());
+        assertEquals("subject 0", store.get(0).getSubject());
+        assertEquals("subject 39999", store.get(count - 1).getSubject());
+        assertEquals(1, store.getBySubject("subject 33000").size());
+    }
+
+    @Test
+    void overlongLogsAreRejectedWithoutChangingTheStore() {
+        TieredLogStore store = new TieredLogStore(segmentDir, 2, 2);
+        for (StudyLog log : sampleLogs(2)) store.append(log);
+
+        String tooLong = "x".repeat(TieredLogStore.MAX_TEXT_LENGTH + 1);
+        assertThrows(IllegalArgumentException.class, () -> store.append(new StudyLog(DAY_ONE, "OS", 1, tooLong)));
+        assertThrows(IllegalArgumentException.class, () -> store.append(new StudyLog(DAY_ONE, tooLong, 1, "")));
+
+        assertEquals(2, store.size());
+        assertEquals(0, store.getSegmentCount());
+        // the longest allowed log still goes in, sealing the two before it
+        String longest = "y".repeat(TieredLogStore.MAX_TEXT_LENGTH);
+        StudyLog log = new StudyLog(DAY_ONE, longest, 1, longest);
+        assertEquals(2, store.append(log));
+        assertEquals(1, store.getSegmentCount());
+        assertSameLog(log, store.get(2));
+    }
+
+    @Test
+    void segmentSizeIsValidated() {
+        assertThrows(IllegalArgumentException.class, () -> new TieredLogStore(segmentDir, 10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new TieredLogStore(segmentDir, 10, 11));
+        int tooBig = TieredLogStore.MAX_SEGMENT_SIZE + 1;
+        assertThrows(IllegalArgumentException.class, () -> new TieredLogStore(segmentDir, tooBig, tooBig));
+    }
+
+    @Test
+    void searchOverSegmentsMatchesOneInMemoryIndex() {
+        String[] words = { "graph", "graphs", "tree", "trie", "heap", "review", "chapter", "tcp", "ünïcode" };
+        TieredLogStore store = new TieredLogStore(segmentDir, 20, 7);
+        InvertedIndex all = new InvertedIndex();
+        Random random = new Random(11);
+        for (int i = 0; i < 500; i++) {
+            StringBuilder desc = new StringBuilder();
+            int n = random.nextInt(6);
+            for (int w = 0; w < n; w++) desc.append(words[random.nextInt(words.length)]).append(' ');
+            String description = random.nextInt(10) == 0 ? null : desc.toString();
+            store.append(new StudyLog(DAY_ONE, "DSA", 1, description));
+            all.add(i, description);
+        }
+        assertTrue(store.getSegmentCount() > 10);
+
+        List<TextIndex> indexes = store.getTextIndexes();
+        int documents = 0;
+        for (TextIndex index : indexes) documents += index.size();
+        assertEquals(all.size(), documents);
+
+        for (String query : new String[] { "graph", "gr", "t", "review chapter", "heap tr", "ünï", "missing" }) {
+            List<InvertedIndex.Hit> expected = all.search(query, 10);
+            List<InvertedIndex.Hit> actual = InvertedIndex.search(query, 10, indexes, indexes);
+            assertEquals(expected.size(), actual.size(), query);
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getScore(), actual.get(i).getScore(), 1e-9);
+                // exactly one tier holds the hit, with the same terms as the in-memory index
+                long key = actual.get(i).getKey();
+                List<Map<String, Integer>> holders = new ArrayList<>();
+                for (TextIndex index : indexes) {
+                    if (!index.getTermFrequencies(key).isEmpty()) holders.add(index.getTermFrequencies(key));
+                }
+                assertEquals(List.of(all.getTermFrequencies(key)), holders);
+            }
+        }
+    }
+
+    @Test
+    void segmentTermLookupsAgreeWithAnInMemoryIndex() {
+        // Large vocabulary, so lookups cross many of the segment's sampled term runs
+        TieredLogStore store = new TieredLogStore(segmentDir, 400, 400);
+        InvertedIndex all = new InvertedIndex();
+        Random random = new Random(12);
+        TreeSet<String> vocabulary = new TreeSet<>();
+        for (int i = 0; i < 1_000; i++) {
+            StringBuilder desc = new StringBuilder();
+            for (int w = 0; w < 4; w++) {
+                String word = "t" + random.nextInt(2_000);
+                vocabulary.add(word);
+                desc.append(word).append(' ');
+            }
+            store.append(new StudyLog(DAY_ONE, "DSA", 1, desc.toString()));
+            all.add(i, desc.toString());
+        }
+        List<TextIndex> indexes = store.getTextIndexes();
+        assertTrue(indexes.size() > 1);
+
+        List<String> probes = new ArrayList<>(vocabulary);
+        for (String word : vocabulary) probes.add(word + "0x");
+        probes.addAll(List.of("", "a", "t", "t1", "t19", "u", "zzz"));
+        for (String term : probes) {
+            int df = 0;
+            TreeSet<String> expansions = new TreeSet<>();
+            for (TextIndex index : indexes) {
+                df += index.getDocumentFrequency(term);
+                TextIndex.Postings postings = index.getPostings(term);
+                assertEquals(index.getDocumentFrequency(term), postings == null ? 0 : postings.size(), term);
+                expansions.addAll(index.getTermsWithPrefix(term, Integer.MAX_VALUE));
+            }
+            assertEquals(all.getDocumentFrequency(term), df, term);
+            assertEquals(all.getTermsWithPrefix(term, Integer.MAX_VALUE), new ArrayList<>(expansions), term);
+        }
+    }
+
+    @Test
+    void viewKeepsItsLogsAcrossLaterAppendsAndClose() {
+        TieredLogStore store = new TieredLogStore(segmentDir, 6, 4);
+        List<StudyLog> expected = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            StudyLog log = new StudyLog(DAY_ONE.plusDays(i), "S" + (i % 3), i, "log " + i);
+            store.append(log);
+            expected.add(log);
+        }
+        List<StudyLog> view = store.view();
+
+        store.append(new StudyLog(DAY_ONE, "late", 1, "after the view"));
+        store.close();
+
+        assertEquals(expected.size(), view.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getDescription(), view.get(i).getDescription());
+            assertEquals(expected.get(i).getDate(), view.get(i).getDate());
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> view.get(expected.size()));
+    }
+
+    @Test
+    void closeDeletesTheSegmentFilesAndDirectory() {
+        TieredLogStore store = new TieredLogStore(segmentDir, 6, 4);
+        for (int i = 0; i < 30; i++) store.append(new StudyLog(DAY_ONE, "DSA", 1, "log " + i));
+        assertTrue(store.getSegmentCount() > 0);
+        java.io.File directory = store.getDirectory().toFile();
+        assertTrue(directory.list().length > 0);
+
+        store.close();
+
+        assertFalse(directory.exists());
+        assertEquals(0, store.size());
+        assertTrue(store.getAll().isEmpty());
+        assertThrows(IllegalStateException.class, () -> store.append(new StudyLog(DAY_ONE, "DSA", 1, "x")));
+    }
+}
@@ -0,0 +1,140 @@
+package com.aditya.Study.Tracker.service.planning;
+
+import com.aditya.Study.Tracker.data.models.Task;
+import com.aditya.Study.Tracker.data.models.TimeInterval;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Scoring of single plans on hand-built snapshots with a fixed start date, so every
+ * metric can be worked out by hand. The study window is 08:00-22:00 (14 free hours).
+ */
+class WhatIfPlannerTest {
+
+    // A Wednesday: the plan runs Wednesday to Tuesday
+    private static final LocalDate START = LocalDate.of(2024, 5, 15);
+
+    private static PlanSnapshot snapshot(List<Task> tasks, List<TimeInterval> blocks,
+                                         Map<String, List<String>> prerequisites, Set<String> completed) {
+        return new PlanSnapshot(tasks, blocks, prerequisites, completed, START);
+    }
+
+    private static PlanSnapshot snapshot(Task... tasks) {
+        return snapshot(List.of(tasks), List.of(), Map.of(), Set.of());
+    }
+
+    private static PlanCandidate candidate(int slotsPerDay, double slotHours) {
+        return new PlanCandidate("plan", slotsPerDay, slotHours, Map.of(), Set.of());
+    }
+
+    @Test
+    void planDaysAreTheSevenDatesFromTheStart() {
+        PlanEvaluation result = WhatIfPlanner.evaluate(snapshot(new Task(1, "Trees", "DSA", 5, START, false)),
+                candidate(1, 1.0));
+
+        List<String> days = new ArrayList<>(result.getPlan().keySet());
+        assertEquals(List.of("2024-05-15", "2024-05-16", "2024-05-17", "2024-05-18",
+                "2024-05-19", "2024-05-20", "2024-05-21"), days);
+    }
+
+    @Test
+    void deadlineMissesCountLateAndDroppedTasksDueWithinThePlan() {
+        Task first = new Task(1, "Graphs", "DSA", 10, START.plusDays(6), false);   // day 0, on time
+        Task late = new Task(2, "Paging", "OS", 5, START, false);                  // day 1, due day 0
+        Task midWeek = new Task(3, "Joins", "DBMS", 4, START.plusDays(2), false);  // day 2, due that Friday
+        Task droppedDue = new Task(4, "TCP", "CN", 3, START.plusDays(3), false);
+        Task droppedLater = new Task(5, "Heaps", "DSA", 2, START.plusDays(30), false);
+        PlanCandidate oneSlot = new PlanCandidate("one slot", 1, 1.0, Map.of(), Set.of(4, 5));
+
+        PlanEvaluation result = WhatIfPlanner.evaluate(
+                snapshot(first, late, midWeek, droppedDue, droppedLater), oneSlot);
+
+        // `late` is a day late; `droppedDue` is due within the plan but left out
+        assertEquals(2, result.getDeadlineMisses());
+    }
+
+    @Test
+    void dependencyViolationsCountSubjectsPlannedBeforeUnfinishedPrerequisites() {
+        Task os = new Task(1, "Paging", "OS", 10, START.plusDays(20), false);
+        Task dsa = new Task(2, "Trees", "DSA", 5, START.plusDays(20), false);
+        Map<String, List<String>> prerequisites = Map.of("OS", List.of("DSA"));
+
+        PlanEvaluation osFirst = WhatIfPlanner.evaluate(
+                snapshot(List.of(os, dsa), List.of(), prerequisites, Set.of()), candidate(1, 1.0));
+        assertEquals(1, osFirst.getDependencyViolations());
+
+        PlanEvaluation prerequisiteDone = WhatIfPlanner.evaluate(
+                snapshot(List.of(os, dsa), List.of(), prerequisites, Set.of("DSA")), candidate(1, 1.0));
+        assertEquals(0, prerequisiteDone.getDependencyViolations());
+
+        PlanCandidate dsaBoosted = new PlanCandidate("boost", 1, 1.0, Map.of("DSA", 3.0), Set.of());
+        PlanEvaluation dsaFirst = WhatIfPlanner.evaluate(
+                snapshot(List.of(os, dsa), List.of(), prerequisites, Set.of()), dsaBoosted);
+        assertEquals(0, dsaFirst.getDependencyViolations());
+    }
+
+    @Test
+    void imbalanceIsTheCoefficientOfVariationOfSlotsPerSubject() {
+        Task trees = new Task(1, "Trees", "DSA", 10, START.plusDays(20), false);
+        Task graphs = new Task(2, "Graphs", "DSA", 9, START.plusDays(20), false);
+        Task paging = new Task(3, "Paging", "OS", 1, START.plusDays(20), false);
+
+        // 3 slots a day cycle DSA, DSA, OS: 14 DSA and 7 OS slots, mean 10.5, deviation 3.5
+        PlanEvaluation result = WhatIfPlanner.evaluate(snapshot(trees, graphs, paging), candidate(3, 1.0));
+        assertEquals(1.0 / 3, result.getSubjectImbalance(), 1e-9);
+
+        PlanEvaluation oneSubject = WhatIfPlanner.evaluate(snapshot(trees, graphs), candidate(3, 1.0));
+        assertEquals(0.0, oneSubject.getSubjectImbalance(), 1e-9);
+    }
+
+    @Test
+    void idleHoursAreFreeWindowHoursLeftUnused() {
+        Task task = new Task(1, "Trees", "DSA", 5, START.plusDays(20), false);
+
+        // 14 free hours, 3 slots of 2h used: 8 idle hours a day
+        assertEquals(56.0, WhatIfPlanner.evaluate(snapshot(task), candidate(3, 2.0)).getIdleHours(), 1e-9);
+
+        // 06:00-09:00 only costs the hour inside the window; 12:00-15:00 costs 3, leaving 10 free hours.
+        // 6 slots of 2h are capped to the 5 that fit, so nothing is idle
+        List<TimeInterval> blocks = List.of(new TimeInterval(LocalTime.of(6, 0), LocalTime.of(9, 0)),
+                new TimeInterval(LocalTime.of(12, 0), LocalTime.of(15, 0)));
+        PlanEvaluation capped = WhatIfPlanner.evaluate(
+                snapshot(List.of(task), blocks, Map.of(), Set.of()), candidate(6, 2.0));
+        assertEquals(0.0, capped.getIdleHours(), 1e-9);
+        assertEquals(5, capped.getPlan().get("2024-05-15").size());
+
+        // Nothing to plan: the whole window is idle
+        assertEquals(98.0, WhatIfPlanner.evaluate(snapshot(), candidate(3, 1.0)).getIdleHours(), 1e-9);
+    }
+
+    @Test
+    void scoreWeighsEveryMetricAndCompareRanksBestFirst() {
+        Task os = new Task(1, "Paging", "OS", 10, START.plusDays(20), false);
+        Task dsa = new Task(2, "Trees", "DSA", 5, START, false);
+        PlanSnapshot snapshot = snapshot(List.of(os, dsa), List.of(), Map.of("OS", List.of("DSA")), Set.of());
+
+        // OS first: DSA misses its day-0 deadline and OS comes before its prerequisite.
+        // 1 slot a day alternates OS, DSA: 4 OS and 3 DSA slots; 13 idle hours a day
+        PlanEvaluation osFirst = WhatIfPlanner.evaluate(snapshot, candidate(1, 1.0));
+        assertEquals(1, osFirst.getDeadlineMisses());
+        assertEquals(1, osFirst.getDependencyViolations());
+        double imbalance = 0.5 / 3.5;
+        assertEquals(imbalance, osFirst.getSubjectImbalance(), 1e-9);
+        assertEquals(91.0, osFirst.getIdleHours(), 1e-9);
+        assertEquals(10.0 + 5.0 + 4.0 * imbalance + 0.25 * 91.0, osFirst.getScore(), 1e-9);
+
+        PlanCandidate dsaFirst = new PlanCandidate("DSA first", 1, 1.0, Map.of("DSA", 3.0), Set.of());
+        PlanCandidate osFirstCandidate = new PlanCandidate("OS first", 1, 1.0, Map.of(), Set.of());
+        List<PlanEvaluation> ranked = new WhatIfPlanner(new ForkJoinPool(2))
+                .compare(snapshot, List.of(osFirstCandidate, dsaFirst));
+        assertEquals(List.of("DSA first", "OS first"), ranked.stream().map(PlanEvaluation::getName).toList());
+        assertEquals(0, ranked.get(0).getDeadlineMisses());
+        assertEquals(0, ranked.get(0).getDependencyViolations());
+    }
+}
@@ -0,0 +1,297 @@
+package com.aditya.Study.Tracker.service.replication;
+
+import com.aditya.Study.Tracker.data.models.StudyLog;
+import com.aditya.Study.Tracker.data.models.Task;
+import com.aditya.Study.Tracker.service.StudyTrackerService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Replication tests, all in-process. A random mix of writes runs on a primary service;
+ * the follower gets the primary's log and snapshots through their JSON form (as the
+ * HTTP endpoints would serve them) and must end up in exactly the same state.
+ */
+class ReplicationTest {
+
+    private static final String[] SUBJECTS = { "DSA", "OS", "DBMS", "CN", "Math" };
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @TempDir
+    Path segmentDir;
+
+    private StudyTrackerService newService(int logRetention) {
+        // Small hot tier so logs are sealed into segments while the test runs
+        return new StudyTrackerService(16, 8, segmentDir.toString(), logRetention);
+    }
+
+    /**
+     * Serves {@code primary.get()}'s log and snapshot the way the follower sees them over HTTP.
+     */
+    private static ReplicationSource sourceFor(Supplier<StudyTrackerService> primary) {
+        return new ReplicationSource() {
+            @Override
+            public MutationBatch fetchLog(long afterSeq, int limit) {
+                return MutationBatch.fromJson(toJson(primary.get().readMutationLog(afterSeq, limit)));
+            }
+
+            @Override
+            public StateSnapshot fetchSnapshot() {
+                return StateSnapshot.fromJson(toJson(primary.get().exportSnapshot()));
+            }
+        };
+    }
+
+    private static Map<String, Object> toJson(Object value) {
+        try {
+            return MAPPER.readValue(MAPPER.writeValueAsString(value), new TypeReference<Map<String, Object>>() {});
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Runs {@code count} random writes on {@code service}. Priorities come from a small
+     * range so the heap has plenty of ties.
+     */
+    private static void randomWrites(StudyTrackerService service, Random random, int count) {
+        for (int i = 0; i < count; i++) {
+            String subject = SUBJECTS[random.nextInt(SUBJECTS.length)];
+            try {
+                switch (random.nextInt(10)) {
+                    case 0, 1, 2 -> service.addTask("task " + i, random.nextInt(8) == 0 ? null : subject,
+                            random.nextInt(10), LocalDate.of(2026, 1, 1).plusDays(random.nextInt(30)));
+                    case 3 -> service.completeTopTask(1 + random.nextInt(3), "done " + i);
+                    case 4 -> service.insertLog(random.nextInt(8) == 0 ? null : subject, 0.5 + random.nextInt(4),
+                            random.nextInt(8) == 0 ? null : "read chapter " + random.nextInt(20));
+                    case 5 -> service.addDependency(SUBJECTS[random.nextInt(SUBJECTS.length)], subject);
+                    case 6 -> service.markSubjectCompleted(subject);
+                    case 7 -> {
+                        int start = random.nextInt(22);
+                        service.addUnavailableBlock(LocalTime.of(start, 0), LocalTime.of(start + 1 + random.nextInt(2), 0));
+                    }
+                    case 8 -> service.undoAction();
+                    default -> service.redoAction();
+                }
+            } catch (RuntimeException ignored) {
+                // empty queue, cycle, ... - rejected writes are not logged
+            }
+        }
+    }
+
+    private static List<String> tasks(StudyTrackerService service) {
+        List<String> out = new ArrayList<>();
+        for (Task t : service.getAllTasks()) {
+            out.add(t.getTaskId() + "|" + t.getTitle() + "|" + t.getSubject() + "|" + t.getPriorityScore()
+                    + "|" + t.getDeadline() + "|" + t.isReview());
+        }
+        return out;
+    }
+
+    private static List<String> logs(StudyTrackerService service) {
+        List<String> out = new ArrayList<>();
+        for (StudyLog l : service.getAllLogs()) {
+            out.add(l.getDate() + "|" + l.getSubject() + "|" + l.getDurationHours() + "|" + l.getDescription());
+        }
+        return out;
+    }
+
+    private static Map<String, Integer> readyTasks(StudyTrackerService service) {
+        Map<String, Integer> out = new HashMap<>(); // tasks without a subject are keyed by null
+        service.getTopReadyTaskBySubject().forEach((subject, task) -> out.put(subject, task.getTaskId()));
+        return out;
+    }
+
+    private static void assertSameState(StudyTrackerService expected, StudyTrackerService actual) {
+        assertEquals(expected.getMutationLogEpoch(), actual.getMutationLogEpoch(), "epoch");
+        assertEquals(expected.getLastMutationSeq(), actual.getLastMutationSeq(), "last seq");
+        assertEquals(tasks(expected), tasks(actual), "tasks");
+        assertEquals(logs(expected), logs(actual), "logs");
+        assertEquals(expected.getSummaryBySubject(), actual.getSummaryBySubject(), "summary");
+        assertEquals(expected.getIdealStudyPath(), actual.getIdealStudyPath(), "study path");
+        assertEquals(readyTasks(expected), readyTasks(actual), "ready tasks");
+        assertEquals(expected.takePlanSnapshot().getBlocks().toString(),
+                actual.takePlanSnapshot().getBlocks().toString(), "blocks");
+        assertEquals(expected.takePlanSnapshot().getCompletedSubjects(),
+                actual.takePlanSnapshot().getCompletedSubjects(), "completed subjects");
+    }
+
+    @Test
+    void replayingTheLogReproducesThePrimary() {
+        StudyTrackerService primary = newService(100_000);
+        StudyTrackerService replica = newService(100_000);
+        // a new replica starts from the (still empty) primary's snapshot, then replays everything
+        replica.installSnapshot(StateSnapshot.fromJson(toJson(primary.exportSnapshot())));
+
+        randomWrites(primary, new Random(1), 3_000);
+
+        for (Mutation m : MutationBatch.fromJson(toJson(primary.readMutationLog(0, Integer.MAX_VALUE))).getMutations()) {
+            replica.applyReplicated(m);
+        }
+        assertSameState(primary, replica);
+    }
+
+    @Test
+    void mutationFromAnotherLogIsRejected() {
+        StudyTrackerService primary = newService(100);
+        StudyTrackerService otherPrimary = newService(100);
+        StudyTrackerService replica = newService(100);
+        replica.installSnapshot(primary.exportSnapshot());
+
+        otherPrimary.addTask("from elsewhere", "DSA", 5, LocalDate.of(2026, 1, 1));
+        Mutation foreign = otherPrimary.readMutationLog(0, 1).getMutations().get(0);
+
+        assertThrows(IllegalStateException.class, () -> replica.applyReplicated(foreign));
+        assertTrue(replica.getAllTasks().isEmpty());
+    }
+
+    @Test
+    void mutationLogKeepsOnlyItsRetention() {
+        StudyTrackerService primary = newService(50);
+        randomWrites(primary, new Random(2), 1_000);
+
+        MutationBatch all = primary.readMutationLog(0, Integer.MAX_VALUE);
+        assertTrue(all.isTruncated());
+        assertTrue(all.getMutations().size() >= 50 && all.getMutations().size() < 100);
+        assertEquals(primary.getLastMutationSeq(), all.getMutations().get(all.getMutations().size() - 1).getSeq());
+
+        long tailFrom = primary.getLastMutationSeq() - 50;
+        assertFalse(primary.readMutationLog(tailFrom, 10).isTruncated());
+    }
+
+    @Test
+    void followerBootstrapsFromSnapshotThenTailsTheLog() {
+        StudyTrackerService primary = newService(50);
+        StudyTrackerService replica = newService(50);
+        ReplicationFollower follower = new ReplicationFollower(replica, sourceFor(() -> primary), "in-process", 20);
+
+        // more writes than the primary retains: the follower can only start from a snapshot
+        Random random = new Random(3);
+        randomWrites(primary, random, 500);
+        follower.pollOnce();
+        assertSameState(primary, replica);
+        assertEquals(1, follower.getStatus().get("bootstraps"));
+
+        // then it keeps up by replaying the log, including undo/redo of pre-snapshot actions
+        for (int round = 0; round < 20; round++) {
+            randomWrites(primary, random, 30);
+            follower.pollOnce();
+            assertSameState(primary, replica);
+        }
+        assertEquals(1, follower.getStatus().get("bootstraps"));
+        assertEquals(0L, follower.getLagEntries());
+        assertEquals("RUNNING", follower.getStatus().get("state"));
+    }
+
+    @Test
+    void followerBehindTheRetentionBootstrapsAgain() {
+        StudyTrackerService primary = newService(50);
+        StudyTrackerService replica = newService(50);
+        ReplicationFollower follower = new ReplicationFollower(replica, sourceFor(() -> primary), "in-process", 20);
+
+        Random random = new Random(4);
+        randomWrites(primary, random, 100);
+        follower.pollOnce();
+
+        randomWrites(primary, random, 400);
+        follower.pollOnce();
+
+        assertSameState(primary, replica);
+        assertEquals(2, follower.getStatus().get("bootstraps"));
+    }
+
+    @Test
+    void reBootstrappingDeletesTheReplicasOldLogSegments() throws IOException {
+        StudyTrackerService primary = newService(50);
+        StudyTrackerService replica = newService(50);
+        ReplicationFollower follower = new ReplicationFollower(replica, sourceFor(() -> primary), "in-process", 20);
+
+        Random random = new Random(5);
+        for (int round = 0; round < 3; round++) {
+            randomWrites(primary, random, 400);
+            follower.pollOnce();
+        }
+        assertEquals(3, follower.getStatus().get("bootstraps"));
+        assertSameState(primary, replica);
+
+        // one store directory each for the primary and the replica's current state
+        try (Stream<Path> dirs = Files.list(segmentDir)) {
+            assertEquals(2, dirs.count());
+        }
+    }
+
+    @Test
+    void primaryRestartIsDetected() {
+        for (int writesAfterRestart : new int[] { 20, 200 }) {
+            AtomicReference<StudyTrackerService> primary = new AtomicReference<>(newService(1_000));
+            StudyTrackerService replica = newService(1_000);
+            ReplicationFollower follower = new ReplicationFollower(replica, sourceFor(primary::get), "in-process", 25);
+
+            Random random = new Random(writesAfterRestart);
+            randomWrites(primary.get(), random, 100);
+            follower.pollOnce();
+            assertSameState(primary.get(), replica);
+
+            // restarted primary: new log, seq starts at 1 again (fewer or more entries than before)
+            primary.set(newService(1_000));
+            randomWrites(primary.get(), random, writesAfterRestart);
+            follower.pollOnce();
+
+            assertSameState(primary.get(), replica);
+            assertEquals(2, follower.getStatus().get("bootstraps"));
+            assertEquals(0L, follower.getLagEntries());
+            assertEquals("RUNNING", follower.getStatus().get("state"));
+
+            Set<Integer> ids = new HashSet<>();
+            for (Task t : replica.getAllTasks()) assertTrue(ids.add(t.getTaskId()), "duplicate task id");
+
+            randomWrites(primary.get(), random, 50);
+            follower.pollOnce();
+            assertSameState(primary.get(), replica);
+        }
+    }
+
+    @Test
+    void followerFailsWhenThePrimaryLogGoesBackwards() {
+        StudyTrackerService primary = newService(1_000);
+        StudyTrackerService replica = newService(1_000);
+        ReplicationSource real = sourceFor(() -> primary);
+        AtomicReference<Boolean> rewound = new AtomicReference<>(false);
+        ReplicationSource source = new ReplicationSource() {
+            @Override
+            public MutationBatch fetchLog(long afterSeq, int limit) {
+                MutationBatch batch = real.fetchLog(afterSeq, limit);
+                // same epoch, but fewer entries than this replica already applied
+                return rewound.get() ? new MutationBatch(batch.getEpoch(), afterSeq - 1, false, List.of()) : batch;
+            }
+
+            @Override
+            public StateSnapshot fetchSnapshot() {
+                return real.fetchSnapshot();
+            }
+        };
+        ReplicationFollower follower = new ReplicationFollower(replica, source, "in-process", 50);
+
+        randomWrites(primary, new Random(5), 100);
+        follower.pollOnce();
+        assertEquals("RUNNING", follower.getStatus().get("state"));
+
+        rewound.set(true);
+        follower.pollOnce();
+        assertEquals("FAILED", follower.getStatus().get("state"));
+        assertNotNull(follower.getStatus().get("lastError"));
+    }
+}
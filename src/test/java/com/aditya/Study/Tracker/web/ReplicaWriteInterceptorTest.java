@@ -0,0 +1,90 @@
+package com.aditya.Study.Tracker.web;
+
+import com.aditya.Study.Tracker.service.StudyTrackerService;
+import com.aditya.Study.Tracker.service.replication.ReplicationFollower;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Write rejection on read replicas. The follower bean is never started, so nothing
+ * talks to the (made up) primary URL.
+ */
+class ReplicaWriteInterceptorTest {
+
+    private static final String PRIMARY_URL = "http://primary:8080";
+
+    @TempDir
+    Path segmentDir;
+
+    private ReplicationFollower replication(String role) {
+        StudyTrackerService service = new StudyTrackerService(64, 32, segmentDir.toString(), 1_000);
+        return new ReplicationFollower(service, role, role.equals("follower") ? PRIMARY_URL : "", 200, 500, 2_000, 10_000);
+    }
+
+    private static HandlerMethod handler(ReplicationFollower replication, String name) throws Exception {
+        StudyTrackerController controller = new StudyTrackerController(null, replication);
+        return new HandlerMethod(controller, StudyTrackerController.class.getMethod(name, Map.class));
+    }
+
+    @Test
+    void followerRejectsWritesWith403() throws Exception {
+        ReplicationFollower replication = replication("follower");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean proceed = new ReplicaWriteInterceptor(replication).preHandle(
+                new MockHttpServletRequest("POST", "/api/v1/tasks"), response, handler(replication, "addTask"));
+
+        assertFalse(proceed);
+        assertEquals(403, response.getStatus());
+        assertEquals(PRIMARY_URL, response.getHeader("X-Primary-Url"));
+        assertNotNull(response.getHeader("X-Replication-Lag-Entries"));
+    }
+
+    @Test
+    void followerServesReadsWithLagHeaders() throws Exception {
+        ReplicationFollower replication = replication("follower");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean proceed = new ReplicaWriteInterceptor(replication).preHandle(
+                new MockHttpServletRequest("GET", "/api/v1/tasks"), response, new Object());
+
+        assertTrue(proceed);
+        assertEquals(200, response.getStatus());
+        assertEquals("0", response.getHeader("X-Replication-Lag-Entries"));
+        assertNotNull(response.getHeader("X-Replication-Lag-Millis"));
+        assertNull(response.getHeader("X-Primary-Url"));
+    }
+
+    @Test
+    void followerServesReadOnlyPostEndpoints() throws Exception {
+        ReplicationFollower replication = replication("follower");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean proceed = new ReplicaWriteInterceptor(replication).preHandle(
+                new MockHttpServletRequest("POST", "/api/v1/schedule/what-if"), response,
+                handler(replication, "compareWeeklyPlans"));
+
+        assertTrue(proceed);
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void primaryAcceptsWritesWithoutReplicationHeaders() throws Exception {
+        ReplicationFollower replication = replication("primary");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean proceed = new ReplicaWriteInterceptor(replication).preHandle(
+                new MockHttpServletRequest("POST", "/api/v1/tasks"), response, handler(replication, "addTask"));
+
+        assertTrue(proceed);
+        assertNull(response.getHeader("X-Replication-Lag-Entries"));
+    }
+}